@@ -0,0 +1,86 @@
+package com.yourorg.imdbloader.bench;
+
+import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.repository.MovieRepository;
+import com.yourorg.imdbloader.service.CatalogReloadedEvent;
+import com.yourorg.imdbloader.service.CatalogSnapshotStore;
+import com.yourorg.imdbloader.service.MovieCatalog;
+import com.yourorg.imdbloader.service.MovieEmbeddingIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recall@10 of the HNSW candidate pipeline against exact {@code calculateSimilarityScore} ranking,
+ * for taste-centroid queries of five random liked movies. Recall is printed once per fork in
+ * setup; the timed method is the candidate lookup the recommender runs per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnnRecallBenchmark {
+
+    private static final int K = 10;
+    private static final int HISTORY = 5;
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    @Param({"500"})
+    public int candidates;
+
+    private MovieEmbeddingIndex index;
+    private final List<List<String>> histories = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Movie> movies = SyntheticCatalog.movies(catalogSize, 42);
+        MovieRepository repository = new MovieRepository(new DriverManagerDataSource(), 0) {
+            @Override
+            public List<Movie> findAllMovies() {
+                return movies;
+            }
+
+            @Override
+            public long datasetVersion() {
+                return 0;
+            }
+        };
+        index = new MovieEmbeddingIndex(true, null, 16, 200, 100, candidates, false);
+        MovieCatalog catalog = new MovieCatalog(repository, new CatalogSnapshotStore(null),
+                event -> index.onCatalogReloaded((CatalogReloadedEvent) event));
+        catalog.reload();
+
+        MovieEmbeddingIndex.BenchmarkResult result = index.benchmark(200, K, HISTORY);
+        System.out.printf("%nrecall@%d = %.3f (%d queries, %d candidates, catalog %d)%n",
+                K, result.recall(), result.queries(), candidates, catalogSize);
+
+        SplittableRandom random = new SplittableRandom(11);
+        for (int q = 0; q < 1024; q++) {
+            List<String> liked = new ArrayList<>(HISTORY);
+            for (int i = 0; i < HISTORY; i++) {
+                liked.add(movies.get(random.nextInt(movies.size())).getId());
+            }
+            histories.add(liked);
+        }
+    }
+
+    @Benchmark
+    public List<Movie> candidates() {
+        List<String> liked = histories.get(next);
+        next = (next + 1) % histories.size();
+        return index.candidatesFor(liked, candidates);
+    }
+}
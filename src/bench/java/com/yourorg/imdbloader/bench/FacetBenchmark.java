@@ -0,0 +1,72 @@
+package com.yourorg.imdbloader.bench;
+
+import com.yourorg.imdbloader.dto.FacetedSearchResponse;
+import com.yourorg.imdbloader.dto.SearchFilter;
+import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.repository.MovieRepository;
+import com.yourorg.imdbloader.service.CatalogReloadedEvent;
+import com.yourorg.imdbloader.service.CatalogSnapshotStore;
+import com.yourorg.imdbloader.service.MovieCatalog;
+import com.yourorg.imdbloader.service.MovieFacets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MovieFacets} over the whole synthetic catalog: one filter per facet plus all four
+ * facet counts, the work behind {@code /api/movies/search?facets=true} with a blank query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FacetBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private MovieFacets movieFacets;
+    private MovieCatalog catalog;
+    private SearchFilter anyGenre;
+    private SearchFilter allGenres;
+
+    @Setup
+    public void setUp() {
+        List<Movie> movies = SyntheticCatalog.movies(catalogSize, 42);
+        MovieRepository repository = new MovieRepository(new DriverManagerDataSource(), 0) {
+            @Override
+            public List<Movie> findAllMovies() {
+                return movies;
+            }
+
+            @Override
+            public long datasetVersion() {
+                return 0;
+            }
+        };
+        movieFacets = new MovieFacets();
+        catalog = new MovieCatalog(repository, new CatalogSnapshotStore(null),
+                event -> movieFacets.onCatalogReloaded((CatalogReloadedEvent) event));
+        catalog.reload();
+        anyGenre = new SearchFilter(List.of("Drama", "Comedy", "Action"), false, 1990, 2005, 7.2, 500);
+        allGenres = new SearchFilter(List.of("Drama", "Romance"), true, 1975, null, 6.0, null);
+    }
+
+    @Benchmark
+    public FacetedSearchResponse anyGenreWithFacets() {
+        return movieFacets.filter(catalog.current(), null, anyGenre, true, 20);
+    }
+
+    @Benchmark
+    public FacetedSearchResponse allGenresWithFacets() {
+        return movieFacets.filter(catalog.current(), null, allGenres, true, 20);
+    }
+}
@@ -0,0 +1,296 @@
+package com.yourorg.imdbloader.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Deterministic, seeded generator for the six IMDb TSV dumps the loader reads.
+ *
+ * <p>Scale factor 1 produces 10,000 titles; the other tables follow IMDb's ratios (about 1.3 names,
+ * 6 principals, 4 akas per title and ratings for roughly 15% of titles). Title types, cast
+ * popularity and votes are skewed, {@code \N} appears at rates similar to the real dumps, and every
+ * foreign key (principals, akas, crew, ratings, known-for titles) points at a generated row.</p>
+ *
+ * <p>Options are {@code --name=value}: {@code out} (directory), {@code scale}, {@code seed},
+ * {@code gzip} (true writes {@code *.tsv.gz} like the published dumps).</p>
+ */
+public final class ImdbDatasetGenerator {
+
+    static final int TITLES_PER_SCALE = 10_000;
+
+    private static final String[] TITLE_TYPES = {"tvEpisode", "short", "movie", "video", "tvSeries", "tvMovie",
+            "tvMiniSeries", "tvSpecial", "videoGame", "tvShort"};
+    private static final double[] TITLE_TYPE_WEIGHTS = {0.74, 0.09, 0.07, 0.03, 0.025, 0.015, 0.006, 0.005, 0.004, 0.005};
+    private static final String[] GENRES = {"Drama", "Comedy", "Documentary", "Talk-Show", "Romance", "Family",
+            "News", "Reality-TV", "Animation", "Crime", "Action", "Adventure", "Music", "Game-Show", "Thriller",
+            "Horror", "Mystery", "Sport", "Fantasy", "Biography", "History", "Sci-Fi", "Short", "Musical", "War",
+            "Western", "Adult", "Film-Noir"};
+    private static final String[] PROFESSIONS = {"actor", "actress", "miscellaneous", "producer", "writer",
+            "director", "camera_department", "editor", "composer", "cinematographer", "sound_department"};
+    private static final String[] CATEGORIES = {"actor", "actress", "self", "director", "writer", "producer",
+            "composer", "cinematographer", "editor", "production_designer"};
+    private static final String[] REGIONS = {"US", "GB", "DE", "FR", "IN", "JP", "ES", "IT", "CA", "BR", "XWW", "RU"};
+    private static final String[] LANGUAGES = {"en", "ja", "fr", "de", "es", "hi", "ru", "it", "pt", "tr"};
+    private static final String[] AKA_TYPES = {"imdbDisplay", "original", "alternative", "working", "festival", "dvd"};
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ra", "ten", "vor", "bel", "sun", "dar", "el",
+            "mon", "ri", "sa", "the", "or", "an", "qu", "zen", "ly", "fa"};
+
+    private final SplittableRandom random;
+    private final int titles;
+    private final int names;
+
+    private ImdbDatasetGenerator(double scale, long seed) {
+        this.random = new SplittableRandom(seed);
+        this.titles = Math.max(1, (int) Math.round(scale * TITLES_PER_SCALE));
+        this.names = Math.max(1, (int) Math.round(titles * 1.3));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        Path out = Files.createDirectories(Path.of(options.getOrDefault("out", "target/imdb-synthetic")));
+        double scale = Double.parseDouble(options.getOrDefault("scale", "1"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        boolean gzip = Boolean.parseBoolean(options.getOrDefault("gzip", "false"));
+
+        long start = System.nanoTime();
+        Map<String, Long> rows = new ImdbDatasetGenerator(scale, seed).writeAll(out, gzip);
+        System.out.printf("Generated scale %.2f (seed %d) into %s in %d ms%n", scale, seed, out,
+                (System.nanoTime() - start) / 1_000_000);
+        rows.forEach((file, count) -> System.out.printf("  %-22s %,12d rows%n", file, count));
+    }
+
+    private Map<String, Long> writeAll(Path out, boolean gzip) throws IOException {
+        Map<String, Long> rows = new java.util.LinkedHashMap<>();
+        // Each table draws from its own stream so changing one table's shape does not reshuffle the others
+        long[] seeds = {random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong(),
+                random.nextLong(), random.nextLong()};
+        rows.put("name.basics", write(out, "name.basics.tsv", gzip, w -> nameBasics(w, new SplittableRandom(seeds[0]))));
+        rows.put("title.basics", write(out, "title.basics.tsv", gzip, w -> titleBasics(w, new SplittableRandom(seeds[1]))));
+        rows.put("title.principals", write(out, "title.principals.tsv", gzip, w -> titlePrincipals(w, new SplittableRandom(seeds[2]))));
+        rows.put("title.akas", write(out, "title.akas.tsv", gzip, w -> titleAkas(w, new SplittableRandom(seeds[3]))));
+        rows.put("title.crew", write(out, "title.crew.tsv", gzip, w -> titleCrew(w, new SplittableRandom(seeds[4]))));
+        rows.put("title.ratings", write(out, "title.ratings.tsv", gzip, w -> titleRatings(w, new SplittableRandom(seeds[5]))));
+        return rows;
+    }
+
+    // ---------------- TABLES ----------------
+
+    private long nameBasics(Writer w, SplittableRandom r) throws IOException {
+        w.write("nconst\tprimaryName\tbirthYear\tdeathYear\tprimaryProfession\tknownForTitles\n");
+        for (int i = 1; i <= names; i++) {
+            boolean hasBirth = r.nextDouble() < 0.45;
+            int birth = 1880 + r.nextInt(125);
+            String death = hasBirth && r.nextDouble() < 0.25 ? Integer.toString(Math.min(2025, birth + 30 + r.nextInt(70))) : "\\N";
+            row(w, nconst(i), word(r) + " " + word(r),
+                    hasBirth ? Integer.toString(birth) : "\\N",
+                    death,
+                    r.nextDouble() < 0.2 ? "\\N" : pick(r, PROFESSIONS, 1 + r.nextInt(3)),
+                    r.nextDouble() < 0.1 ? "\\N" : tconstList(r, 1 + r.nextInt(4)));
+        }
+        return names;
+    }
+
+    private long titleBasics(Writer w, SplittableRandom r) throws IOException {
+        w.write("tconst\ttitleType\tprimaryTitle\toriginalTitle\tisAdult\tstartYear\tendYear\truntimeMinutes\tgenres\n");
+        for (int i = 1; i <= titles; i++) {
+            String type = TITLE_TYPES[weighted(r, TITLE_TYPE_WEIGHTS)];
+            String title = title(r);
+            int startYear = 1900 + (int) (125 * Math.sqrt(r.nextDouble()));
+            boolean series = type.equals("tvSeries") || type.equals("tvMiniSeries");
+            row(w, tconst(i), type, title,
+                    r.nextDouble() < 0.1 ? title(r) : title,
+                    r.nextDouble() < 0.02 ? "1" : "0",
+                    r.nextDouble() < 0.12 ? "\\N" : Integer.toString(startYear),
+                    series && r.nextDouble() < 0.6 ? Integer.toString(Math.min(2025, startYear + 1 + r.nextInt(10))) : "\\N",
+                    r.nextDouble() < 0.4 ? "\\N" : Integer.toString(type.equals("movie") ? 70 + r.nextInt(90) : 5 + r.nextInt(55)),
+                    r.nextDouble() < 0.05 ? "\\N" : pickSkewed(r, GENRES, 1 + r.nextInt(3)));
+        }
+        return titles;
+    }
+
+    private long titlePrincipals(Writer w, SplittableRandom r) throws IOException {
+        w.write("tconst\tordering\tnconst\tcategory\tjob\tcharacters\n");
+        long count = 0;
+        for (int i = 1; i <= titles; i++) {
+            int cast = 1 + (int) Math.min(9, -Math.log(1 - r.nextDouble()) * 5.5);
+            for (int ordering = 1; ordering <= cast; ordering++) {
+                String category = CATEGORIES[skewed(r, CATEGORIES.length)];
+                boolean acting = category.startsWith("act") || category.equals("self");
+                row(w, tconst(i), Integer.toString(ordering), nconst(1 + skewed(r, names)), category,
+                        !acting && r.nextDouble() < 0.35 ? category + " (" + word(r) + ")" : "\\N",
+                        acting ? "[\"" + word(r) + " " + word(r) + "\"]" : "\\N");
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long titleAkas(Writer w, SplittableRandom r) throws IOException {
+        w.write("titleId\tordering\ttitle\tregion\tlanguage\ttypes\tattributes\tisOriginalTitle\n");
+        long count = 0;
+        for (int i = 1; i <= titles; i++) {
+            // Geometric: most titles have one or two akas, popular ones dozens
+            int akas = 1 + (int) Math.min(60, -Math.log(1 - r.nextDouble()) * 3);
+            for (int ordering = 1; ordering <= akas; ordering++) {
+                boolean original = ordering == 1;
+                row(w, tconst(i), Integer.toString(ordering), title(r),
+                        original || r.nextDouble() < 0.1 ? "\\N" : REGIONS[skewed(r, REGIONS.length)],
+                        r.nextDouble() < 0.7 ? "\\N" : LANGUAGES[skewed(r, LANGUAGES.length)],
+                        original ? "original" : r.nextDouble() < 0.6 ? "\\N" : AKA_TYPES[r.nextInt(AKA_TYPES.length)],
+                        r.nextDouble() < 0.95 ? "\\N" : "literal title",
+                        original ? "1" : "0");
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long titleCrew(Writer w, SplittableRandom r) throws IOException {
+        w.write("tconst\tdirectors\twriters\n");
+        for (int i = 1; i <= titles; i++) {
+            row(w, tconst(i),
+                    r.nextDouble() < 0.35 ? "\\N" : nconstList(r, 1 + (r.nextDouble() < 0.9 ? 0 : r.nextInt(3))),
+                    r.nextDouble() < 0.45 ? "\\N" : nconstList(r, 1 + r.nextInt(4)));
+        }
+        return titles;
+    }
+
+    private long titleRatings(Writer w, SplittableRandom r) throws IOException {
+        w.write("tconst\taverageRating\tnumVotes\n");
+        long count = 0;
+        for (int i = 1; i <= titles; i++) {
+            if (r.nextDouble() >= 0.15) {
+                continue;
+            }
+            double rating = Math.max(1.0, Math.min(10.0, 6.9 + r.nextGaussian() * 1.3));
+            // Log-normal votes: median in the tens, a long tail into the millions
+            long votes = Math.max(5, Math.min(3_000_000, Math.round(Math.exp(3.5 + r.nextGaussian() * 2.2))));
+            row(w, tconst(i), String.format(java.util.Locale.ROOT, "%.1f", rating), Long.toString(votes));
+            count++;
+        }
+        return count;
+    }
+
+    // ---------------- HELPERS ----------------
+
+    private static long write(Path dir, String fileName, boolean gzip, TableWriter table) throws IOException {
+        Path path = dir.resolve(gzip ? fileName + ".gz" : fileName);
+        OutputStream stream = Files.newOutputStream(path);
+        if (gzip) {
+            stream = new GZIPOutputStream(stream, 1 << 16);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16)) {
+            return table.write(writer);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TableWriter {
+        long write(Writer writer) throws IOException;
+    }
+
+    private static void row(Writer w, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                w.write('\t');
+            }
+            w.write(fields[i]);
+        }
+        w.write('\n');
+    }
+
+    static String tconst(int i) {
+        return String.format("tt%07d", i);
+    }
+
+    static String nconst(int i) {
+        return String.format("nm%07d", i);
+    }
+
+    private String tconstList(SplittableRandom r, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "" : ",").append(tconst(1 + r.nextInt(titles)));
+        }
+        return sb.toString();
+    }
+
+    private String nconstList(SplittableRandom r, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "" : ",").append(nconst(1 + skewed(r, names)));
+        }
+        return sb.toString();
+    }
+
+    private static String title(SplittableRandom r) {
+        String first = word(r);
+        String title = Character.toUpperCase(first.charAt(0)) + first.substring(1);
+        int words = r.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            title += " " + word(r);
+        }
+        return r.nextDouble() < 0.3 ? "Episode #" + (1 + r.nextInt(20)) + "." + (1 + r.nextInt(30)) : title;
+    }
+
+    private static String word(SplittableRandom r) {
+        int syllables = 1 + r.nextInt(3);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            sb.append(SYLLABLES[r.nextInt(SYLLABLES.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String pick(SplittableRandom r, String[] values, int count) {
+        StringBuilder sb = new StringBuilder();
+        int start = r.nextInt(values.length);
+        for (int i = 0; i < Math.min(count, values.length); i++) {
+            sb.append(i == 0 ? "" : ",").append(values[(start + i) % values.length]);
+        }
+        return sb.toString();
+    }
+
+    private static String pickSkewed(SplittableRandom r, String[] values, int count) {
+        java.util.TreeSet<Integer> chosen = new java.util.TreeSet<>();
+        while (chosen.size() < Math.min(count, values.length)) {
+            chosen.add(skewed(r, values.length));
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int index : chosen) {
+            sb.append(sb.length() == 0 ? "" : ",").append(values[index]);
+        }
+        return sb.toString();
+    }
+
+    private static int weighted(SplittableRandom r, double[] weights) {
+        double x = r.nextDouble();
+        for (int i = 0; i < weights.length; i++) {
+            x -= weights[i];
+            if (x < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // Roughly Zipfian over [0, bound): low indexes are picked far more often than high ones
+    private static int skewed(SplittableRandom r, int bound) {
+        return (int) Math.min(bound - 1, Math.floor(Math.pow(bound + 1, r.nextDouble())) - 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.yourorg.imdbloader.bench;
+
+import com.yourorg.imdbloader.entity.JsonbConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSONB preference (de)serialization for user profiles of growing history size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonbBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int historySize;
+
+    private final JsonbConverter converter = new JsonbConverter();
+    private Map<String, Object> preferences;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        List<String> liked = new ArrayList<>(historySize);
+        List<String> actors = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            liked.add(String.format("tt%07d", i));
+            actors.add("Actor " + i);
+        }
+        preferences = new HashMap<>();
+        preferences.put("initialQuery", "dark crime drama");
+        preferences.put("preferredGenres", List.of("Drama", "Crime", "Thriller"));
+        preferences.put("preferredActors", actors);
+        preferences.put("likedMovieIds", liked);
+        json = converter.convertToDatabaseColumn(preferences);
+    }
+
+    @Benchmark
+    public String write() {
+        return converter.convertToDatabaseColumn(preferences);
+    }
+
+    @Benchmark
+    public Map<String, Object> read() {
+        return converter.convertToEntityAttribute(json);
+    }
+}
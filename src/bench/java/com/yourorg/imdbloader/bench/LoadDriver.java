@@ -0,0 +1,364 @@
+package com.yourorg.imdbloader.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SynchronizedHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-model HTTP load driver for the suggestion flow: start → (feedback → suggest polls)*.
+ *
+ * <p>Sessions arrive as a Poisson process at {@code --rate} per second regardless of how fast the
+ * server answers, and every request's latency is measured from the time it was <em>scheduled</em>
+ * to be sent, not from when it was actually sent, so a stalled server shows up in the percentiles
+ * instead of silently slowing the driver down (coordinated omission).</p>
+ *
+ * <p>Options are {@code --name=value}: {@code base-url}, {@code rate}, {@code duration-s},
+ * {@code warmup-s}, {@code drain-s}, {@code think-ms} (mean), {@code think-dist} (exp|fixed),
+ * {@code likes-mean}, {@code like-rank-bias} (0..1, higher favours top recommendations),
+ * {@code feedback-rounds}, {@code polls-per-round}, {@code seed}, {@code hdr-out} (directory for
+ * per-endpoint percentile distributions).</p>
+ */
+public final class LoadDriver {
+
+    private static final String[] QUERIES = {
+            "Drama", "Action", "Crime", "Sci-Fi", "Comedy", "Thriller", "Romance", "Adventure",
+            "Christopher Nolan", "Leonardo DiCaprio", "Morgan Freeman", "Tom Hanks", "dark", "love"
+    };
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<String, String> options;
+    private final URI baseUri;
+    private final double sessionsPerSecond;
+    private final long thinkMeanMs;
+    private final boolean fixedThink;
+    private final double likesMean;
+    private final double likeRankBias;
+    private final int feedbackRounds;
+    private final int pollsPerRound;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4, r -> {
+        Thread t = new Thread(r, "load-scheduler");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong completedSessions = new AtomicLong();
+    private volatile long measureFromNanos;
+    private volatile long measureToNanos = Long.MAX_VALUE;
+
+    private LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUri = URI.create(option("base-url", "http://localhost:8080/api/"));
+        this.sessionsPerSecond = Double.parseDouble(option("rate", "20"));
+        this.thinkMeanMs = Long.parseLong(option("think-ms", "1000"));
+        this.fixedThink = "fixed".equals(option("think-dist", "exp"));
+        this.likesMean = Double.parseDouble(option("likes-mean", "2"));
+        this.likeRankBias = Double.parseDouble(option("like-rank-bias", "0.3"));
+        this.feedbackRounds = Integer.parseInt(option("feedback-rounds", "3"));
+        this.pollsPerRound = Integer.parseInt(option("polls-per-round", "2"));
+        for (String endpoint : List.of("start", "feedback", "suggest")) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws InterruptedException, IOException {
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("warmup-s", "10")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("duration-s", "60")));
+        long drainNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("drain-s", "30")));
+        SplittableRandom arrivals = new SplittableRandom(Long.parseLong(option("seed", "42")));
+
+        System.out.printf("Driving %s at %.1f sessions/s for %ds (+%ds warmup)%n", baseUri, sessionsPerSecond,
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos), TimeUnit.NANOSECONDS.toSeconds(warmupNanos));
+        long start = System.nanoTime();
+        measureFromNanos = start + warmupNanos;
+        long end = measureFromNanos + durationNanos;
+
+        // Pre-compute the whole arrival schedule so the generator never lags behind a slow server
+        long intended = start;
+        while (true) {
+            intended += (long) (exponential(arrivals, 1.0 / sessionsPerSecond) * 1e9);
+            if (intended >= end) {
+                break;
+            }
+            long sessionSeed = arrivals.nextLong();
+            long at = intended;
+            scheduler.schedule(() -> startSession(at, new SplittableRandom(sessionSeed)),
+                    at - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, end - System.nanoTime()));
+        measureToNanos = end;
+        long drainDeadline = System.nanoTime() + drainNanos;
+        while (activeSessions.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        scheduler.shutdownNow();
+        report(durationNanos);
+    }
+
+    // ---------------- JOURNEY ----------------
+
+    private void startSession(long intendedNanos, SplittableRandom random) {
+        activeSessions.incrementAndGet();
+        String body = "{\"query\":\"" + QUERIES[random.nextInt(QUERIES.length)] + "\"}";
+        send("start", intendedNanos, post("suggest/start", body))
+                .thenAccept(response -> {
+                    JsonNode json = parse(response);
+                    if (json == null || !json.hasNonNull("userId")) {
+                        finishSession();
+                        return;
+                    }
+                    Session session = new Session(json.get("userId").asText(), random);
+                    session.recommendations = ids(json);
+                    afterThink(session, () -> feedback(session));
+                });
+    }
+
+    private void feedback(Session session) {
+        List<String> liked = pickLikes(session);
+        if (liked.isEmpty() || session.round >= feedbackRounds) {
+            finishSession();
+            return;
+        }
+        session.round++;
+        String body;
+        try {
+            body = mapper.writeValueAsString(Map.of("userId", session.userId, "likedMovieIds", liked));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        send("feedback", session.intendedNanos, post("suggest/feedback", body))
+                .thenAccept(response -> {
+                    JsonNode json = parse(response);
+                    if (json != null) {
+                        session.recommendations = ids(json);
+                    }
+                    session.polls = 0;
+                    afterThink(session, () -> poll(session));
+                });
+    }
+
+    private void poll(Session session) {
+        if (session.polls >= pollsPerRound) {
+            feedback(session);
+            return;
+        }
+        session.polls++;
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve("suggest/" + session.userId)).GET();
+        if (session.etag != null) {
+            request.header("If-None-Match", session.etag);
+        }
+        send("suggest", session.intendedNanos, request.build())
+                .thenAccept(response -> {
+                    if (response != null) {
+                        response.headers().firstValue("ETag").ifPresent(etag -> session.etag = etag);
+                        JsonNode json = parse(response);
+                        if (json != null) {
+                            session.recommendations = ids(json);
+                        }
+                    }
+                    afterThink(session, () -> poll(session));
+                });
+    }
+
+    private void afterThink(Session session, Runnable next) {
+        long thinkNanos = TimeUnit.MILLISECONDS.toNanos(fixedThink
+                ? thinkMeanMs
+                : (long) exponential(session.random, thinkMeanMs));
+        // The next step is due a think time after the previous response, wherever the clock is now
+        session.intendedNanos = System.nanoTime() + thinkNanos;
+        try {
+            scheduler.schedule(next, thinkNanos, TimeUnit.NANOSECONDS);
+        } catch (java.util.concurrent.RejectedExecutionException e) {
+            finishSession();
+        }
+    }
+
+    private void finishSession() {
+        activeSessions.decrementAndGet();
+        completedSessions.incrementAndGet();
+    }
+
+    /**
+     * Likes a Poisson-distributed number of the current recommendations, biased towards the top.
+     */
+    private List<String> pickLikes(Session session) {
+        List<String> candidates = new ArrayList<>(session.recommendations);
+        int count = Math.min(candidates.size(), Math.max(1, poisson(session.random, likesMean)));
+        List<String> liked = new ArrayList<>(count);
+        while (liked.size() < count && !candidates.isEmpty()) {
+            int rank = 0;
+            while (rank < candidates.size() - 1 && session.random.nextDouble() > likeRankBias) {
+                rank++;
+            }
+            liked.add(candidates.remove(rank));
+        }
+        return liked;
+    }
+
+    // ---------------- HTTP ----------------
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /**
+     * Sends the request and records its latency from {@code intendedNanos}. Completes with null on error.
+     */
+    private CompletableFuture<HttpResponse<String>> send(String endpoint, long intendedNanos, HttpRequest request) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long done = System.nanoTime();
+                    boolean measured = intendedNanos >= measureFromNanos && intendedNanos < measureToNanos;
+                    boolean failed = error != null || response.statusCode() >= 400;
+                    if (measured) {
+                        endpointStats.record(Math.min(done - intendedNanos, MAX_LATENCY_NANOS), failed,
+                                response != null && response.statusCode() == 304);
+                    }
+                    return failed ? null : response;
+                });
+    }
+
+    private JsonNode parse(HttpResponse<String> response) {
+        if (response == null || response.statusCode() != 200 || response.body().isEmpty()) {
+            return null;
+        }
+        try {
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<String> ids(JsonNode suggestResponse) {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode movie : suggestResponse.path("recommendations")) {
+            ids.add(movie.path("id").asText());
+        }
+        return ids;
+    }
+
+    // ---------------- REPORTING ----------------
+
+    private void report(long durationNanos) throws IOException {
+        double seconds = durationNanos / 1e9;
+        PrintStream out = System.out;
+        out.printf("%nSessions completed: %d (%.1f/s), still active at exit: %d%n",
+                completedSessions.get(), completedSessions.get() / seconds, activeSessions.get());
+        out.printf("%-10s %9s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "304s", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        String hdrOut = options.get("hdr-out");
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            Histogram h = s.latency;
+            out.printf("%-10s %9d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), h.getTotalCount(), s.errors.get(), s.notModified.get(), h.getTotalCount() / seconds,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+            if (hdrOut != null) {
+                Path dir = Files.createDirectories(Path.of(hdrOut));
+                try (PrintStream file = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey() + ".hgrm")))) {
+                    h.outputPercentileDistribution(file, 1_000_000.0);
+                }
+            }
+        }
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+
+    private static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int k = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static final class EndpointStats {
+        final Histogram latency = new SynchronizedHistogram(MAX_LATENCY_NANOS, 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong notModified = new AtomicLong();
+
+        void record(long latencyNanos, boolean failed, boolean wasNotModified) {
+            latency.recordValue(latencyNanos);
+            if (failed) {
+                errors.incrementAndGet();
+            }
+            if (wasNotModified) {
+                notModified.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Session {
+        final String userId;
+        final SplittableRandom random;
+        volatile List<String> recommendations = List.of();
+        volatile String etag;
+        volatile long intendedNanos;
+        volatile int round;
+        volatile int polls;
+
+        Session(String userId, SplittableRandom random) {
+            this.userId = userId;
+            this.random = random;
+        }
+    }
+}
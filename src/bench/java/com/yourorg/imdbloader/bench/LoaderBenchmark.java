@@ -0,0 +1,72 @@
+package com.yourorg.imdbloader.bench;
+
+import com.yourorg.imdbloader.config.DatabaseInitializer;
+import com.yourorg.imdbloader.service.ImdbLoaderService;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the production loader against a directory of dumps (typically from
+ * {@link ImdbDatasetGenerator}) and prints the ingest rate per table.
+ *
+ * <p>The IMDb tables are truncated first so every run measures a cold load into empty tables;
+ * user and cache tables are left alone. Options are {@code --name=value}: {@code data},
+ * {@code jdbc-url}, {@code user}, {@code password}.</p>
+ */
+public final class LoaderBenchmark {
+
+    private static final List<String> IMDB_TABLES = List.of("title_ratings", "title_crew", "title_akas",
+            "title_principals", "title_basics", "name_basics");
+
+    private LoaderBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        Path data = Path.of(options.getOrDefault("data", "target/imdb-synthetic"));
+        if (!Files.isDirectory(data)) {
+            throw new IllegalArgumentException("Dataset directory not found: " + data
+                    + " (generate one with ImdbDatasetGenerator)");
+        }
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/imdb"),
+                options.getOrDefault("user", "postgres"),
+                options.getOrDefault("password", "password"));
+
+        truncate(dataSource);
+        long start = System.nanoTime();
+        List<ImdbLoaderService.TableLoad> loads = new DatabaseInitializer(new ImdbLoaderService(), dataSource).init(data);
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long totalRows = 0;
+        System.out.printf("%n%-18s %12s %10s %12s%n", "table", "rows", "ms", "rows/s");
+        for (ImdbLoaderService.TableLoad load : loads) {
+            System.out.printf("%-18s %,12d %,10d %,12.0f%n", load.table(), load.rows(), load.millis(), load.rowsPerSecond());
+            totalRows += load.rows();
+        }
+        System.out.printf("%-18s %,12d %,10d %,12.0f%n", "total", totalRows, totalMillis,
+                totalMillis == 0 ? totalRows : totalRows * 1000.0 / totalMillis);
+    }
+
+    private static void truncate(DriverManagerDataSource dataSource) throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String table : IMDB_TABLES) {
+                if (conn.getMetaData().getTables(null, null, table, null).next()) {
+                    stmt.execute("TRUNCATE TABLE " + table + " CASCADE");
+                }
+            }
+        }
+    }
+}
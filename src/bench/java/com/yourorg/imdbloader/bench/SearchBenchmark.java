@@ -0,0 +1,77 @@
+package com.yourorg.imdbloader.bench;
+
+import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.repository.MovieRepository;
+import com.yourorg.imdbloader.service.AkaSearchService;
+import com.yourorg.imdbloader.service.CatalogReloadedEvent;
+import com.yourorg.imdbloader.service.CatalogSnapshotStore;
+import com.yourorg.imdbloader.service.FuzzyTitleMatcher;
+import com.yourorg.imdbloader.service.MovieCatalog;
+import com.yourorg.imdbloader.service.MovieFacets;
+import com.yourorg.imdbloader.service.MovieService;
+import com.yourorg.imdbloader.service.SimilarMoviesIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MovieService#searchMovies} over synthetic catalogs, for a genre hit, an actor hit, a typo
+ * that only the fuzzy fallback finds, and a miss. {@link #fuzzy()} times the fuzzy lookup alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"drama", "Actor 42", "Actr 42", "zzz"})
+    public String query;
+
+    private MovieService movieService;
+    private FuzzyTitleMatcher fuzzyTitleMatcher;
+    private MovieCatalog catalog;
+
+    @Setup
+    public void setUp() {
+        List<Movie> movies = SyntheticCatalog.movies(catalogSize, 42);
+        MovieRepository repository = new MovieRepository(new DriverManagerDataSource(), 0) {
+            @Override
+            public List<Movie> findAllMovies() {
+                return movies;
+            }
+
+            @Override
+            public long datasetVersion() {
+                return 0;
+            }
+        };
+        fuzzyTitleMatcher = new FuzzyTitleMatcher(true, 2, 7, 5, 20);
+        catalog = new MovieCatalog(repository, new CatalogSnapshotStore(null),
+                event -> fuzzyTitleMatcher.onCatalogReloaded((CatalogReloadedEvent) event));
+        catalog.reload();
+        movieService = new MovieService(repository, null, catalog, new SimilarMoviesIndex(), null,
+                new AkaSearchService(repository, catalog, false), fuzzyTitleMatcher, new MovieFacets(), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public List<Movie> search() {
+        return movieService.searchMovies(query);
+    }
+
+    @Benchmark
+    public List<Movie> fuzzy() {
+        return fuzzyTitleMatcher.search(catalog.current(), query, 20);
+    }
+}
@@ -0,0 +1,56 @@
+package com.yourorg.imdbloader.bench;
+
+import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.service.MovieSimilarity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-catalog content scoring, the work a recommendation does when the ANN index is not used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimilarityBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"1", "10", "100"})
+    public int historySize;
+
+    private List<Movie> catalog;
+    private long likedGenres;
+    private Set<String> likedActors;
+
+    @Setup
+    public void setUp() {
+        catalog = SyntheticCatalog.movies(catalogSize, 42);
+        likedGenres = 0;
+        likedActors = new HashSet<>();
+        for (Movie liked : SyntheticCatalog.history(catalog, historySize, 7)) {
+            likedGenres |= liked.getGenreMask();
+            likedActors.addAll(liked.getActors());
+        }
+    }
+
+    @Benchmark
+    public double scoreCatalog() {
+        double sum = 0;
+        for (Movie movie : catalog) {
+            sum += MovieSimilarity.calculateSimilarityScore(movie, likedGenres, likedActors);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,72 @@
+package com.yourorg.imdbloader.bench;
+
+import com.yourorg.imdbloader.model.Movie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic movie catalogs and user histories for benchmarks.
+ * Genre and cast popularity are skewed so postings and overlaps look like IMDb's.
+ */
+final class SyntheticCatalog {
+
+    static final String[] GENRES = {
+            "Drama", "Comedy", "Action", "Thriller", "Romance", "Crime", "Horror", "Adventure",
+            "Documentary", "Family", "Mystery", "Fantasy", "Sci-Fi", "Animation", "Biography",
+            "History", "Music", "War", "Western", "Sport", "Musical"
+    };
+
+    private static final String[] WORDS = {
+            "night", "star", "dark", "love", "city", "king", "last", "river", "lost", "war",
+            "house", "dream", "blood", "road", "story", "secret", "summer", "ghost", "heart", "fire"
+    };
+
+    private SyntheticCatalog() {
+    }
+
+    static List<Movie> movies(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int actorPool = Math.max(100, size / 2);
+        List<Movie> movies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<String> genres = new ArrayList<>(3);
+            int genreCount = 1 + random.nextInt(3);
+            while (genres.size() < genreCount) {
+                String genre = GENRES[skewed(random, GENRES.length)];
+                if (!genres.contains(genre)) {
+                    genres.add(genre);
+                }
+            }
+            List<String> actors = new ArrayList<>(4);
+            int actorCount = 2 + random.nextInt(3);
+            for (int a = 0; a < actorCount; a++) {
+                actors.add("Actor " + skewed(random, actorPool));
+            }
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            double rating = Math.round((1 + random.nextDouble() * 9) * 10) / 10.0;
+            int votes = (int) Math.min(Integer.MAX_VALUE, Math.exp(random.nextDouble() * 14));
+            movies.add(new Movie(String.format("tt%07d", i), title, genres, actors,
+                    1920 + random.nextInt(105), rating, votes, null));
+        }
+        return movies;
+    }
+
+    /**
+     * {@code size} movies a user liked, drawn uniformly from the catalog.
+     */
+    static List<Movie> history(List<Movie> catalog, int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Movie> liked = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            liked.add(catalog.get(random.nextInt(catalog.size())));
+        }
+        return liked;
+    }
+
+    // Roughly Zipfian: low indexes are picked far more often than high ones
+    private static int skewed(SplittableRandom random, int bound) {
+        return (int) Math.min(bound - 1, Math.floor(Math.pow(bound, random.nextDouble())) - 1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.yourorg.imdbloader.bench;
+
+import com.yourorg.imdbloader.service.ImdbLoaderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field splitting and integer parsing of title.basics rows, the CPU side of the TSV loader.
+ * {@code stringSplit} is the previous {@code split("\t", -1)} implementation, kept as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TsvParseBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private String[] lines;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        lines = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            String endYear = random.nextInt(10) == 0 ? Integer.toString(1950 + random.nextInt(75)) : "\\N";
+            lines[i] = String.join("\t",
+                    String.format("tt%07d", i), "movie", "Title number " + i, "Original title " + i,
+                    random.nextInt(50) == 0 ? "1" : "0", Integer.toString(1900 + random.nextInt(125)), endYear,
+                    Integer.toString(60 + random.nextInt(120)),
+                    SyntheticCatalog.GENRES[random.nextInt(SyntheticCatalog.GENRES.length)] + ",Drama");
+        }
+    }
+
+    @Benchmark
+    public long splitTsv() {
+        long checksum = 0;
+        for (String line : lines) {
+            checksum += consume(ImdbLoaderService.splitTsv(line));
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long stringSplit() {
+        long checksum = 0;
+        for (String line : lines) {
+            checksum += consume(line.split("\t", -1));
+        }
+        return checksum;
+    }
+
+    private static long consume(String[] fields) {
+        Integer startYear = ImdbLoaderService.parseInteger(fields[5]);
+        Integer endYear = ImdbLoaderService.parseInteger(fields[6]);
+        Integer runtime = ImdbLoaderService.parseInteger(fields[7]);
+        return fields.length + (startYear != null ? startYear : 0) + (endYear != null ? endYear : 0)
+                + (runtime != null ? runtime : 0);
+    }
+}
@@ -0,0 +1,59 @@
+package com.yourorg.imdbloader.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Runs the blocking part of a request (JDBC, OMDb) off the Tomcat worker so the worker is
+ * released while the I/O is in flight. With {@code http.async.enabled=false} the work runs
+ * inline on the calling thread, which restores the classic thread-per-request behaviour.
+ *
+ * <p>Deliberately not exposed as an {@code Executor} bean, which would displace Spring Boot's
+ * auto-configured application task executor.</p>
+ */
+@Component
+public class AsyncRequestExecutor {
+
+    private final ExecutorService executor;
+
+    public AsyncRequestExecutor(@Value("${http.async.enabled:true}") boolean enabled,
+                                @Value("${http.async.max-concurrency:64}") int maxConcurrency,
+                                @Value("${http.async.queue-capacity:2000}") int queueCapacity,
+                                @Value("${http.async.virtual-threads:true}") boolean virtualThreads) {
+        this.executor = enabled
+                ? BoundedExecutors.create("request-io", maxConcurrency, queueCapacity, virtualThreads)
+                : null;
+    }
+
+    /**
+     * Supplies the value asynchronously. When the executor is saturated the returned future
+     * completes exceptionally with {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> work) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(work.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
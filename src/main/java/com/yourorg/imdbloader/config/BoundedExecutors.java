@@ -0,0 +1,134 @@
+package com.yourorg.imdbloader.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for blocking I/O with a hard limit on running and queued tasks, so a slow
+ * dependency fails fast with {@link RejectedExecutionException} instead of piling up work.
+ *
+ * <p>On Java 21+ the tasks can run on virtual threads; concurrency is then bounded by a
+ * semaphore rather than by the pool size. On older runtimes a fixed platform pool is used.</p>
+ */
+public final class BoundedExecutors {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedExecutors.class);
+
+    private BoundedExecutors() {
+    }
+
+    /**
+     * @param maxConcurrency tasks allowed to run at once
+     * @param queueCapacity  tasks allowed to wait beyond those; further submissions are rejected
+     * @param virtualThreads use virtual threads when the runtime supports them
+     */
+    public static ExecutorService create(String name, int maxConcurrency, int queueCapacity, boolean virtualThreads) {
+        if (virtualThreads) {
+            ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+            if (virtual != null) {
+                log.info("🧵 Executor '{}' uses virtual threads (max {} running)", name, maxConcurrency);
+                return new SemaphoreBoundedExecutor(virtual, maxConcurrency, queueCapacity);
+            }
+            log.info("Virtual threads unavailable on Java {}, executor '{}' uses a platform pool",
+                    Runtime.version().feature(), name);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                r -> {
+                    Thread t = new Thread(r, name + "-" + threads.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Compiled against Java 17, so the Java 21 factory is looked up reflectively
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) java.util.concurrent.Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Admits at most {@code maxConcurrency + queueCapacity} tasks; each virtual thread waits
+     * for one of {@code maxConcurrency} run permits before executing.
+     */
+    private static final class SemaphoreBoundedExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore admitted;
+        private final Semaphore running;
+
+        SemaphoreBoundedExecutor(ExecutorService delegate, int maxConcurrency, int queueCapacity) {
+            this.delegate = delegate;
+            this.admitted = new Semaphore(maxConcurrency + queueCapacity);
+            this.running = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (!admitted.tryAcquire()) {
+                throw new RejectedExecutionException("Executor saturated");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        running.acquire();
+                        try {
+                            task.run();
+                        } finally {
+                            running.release();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        admitted.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                admitted.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
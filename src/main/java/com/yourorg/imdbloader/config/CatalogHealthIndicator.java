@@ -0,0 +1,45 @@
+package com.yourorg.imdbloader.config;
+
+import com.yourorg.imdbloader.service.DataLoadJob;
+import com.yourorg.imdbloader.service.MovieCatalog;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code catalog} health: OUT_OF_SERVICE while the background load runs, UP once a catalog
+ * version is available, DOWN if the load failed. Exposed on its own as the
+ * {@code /actuator/health/catalog} group so catalog traffic can be routed separately from
+ * the readiness probe, which is UP as soon as user-profile endpoints can serve.
+ */
+@Component
+public class CatalogHealthIndicator implements HealthIndicator {
+
+    private final DataLoadJob dataLoadJob;
+    private final MovieCatalog movieCatalog;
+
+    public CatalogHealthIndicator(DataLoadJob dataLoadJob, MovieCatalog movieCatalog) {
+        this.dataLoadJob = dataLoadJob;
+        this.movieCatalog = movieCatalog;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = switch (dataLoadJob.state()) {
+            case READY -> Health.up();
+            case FAILED -> Health.down().withDetail("error", String.valueOf(dataLoadJob.failure()));
+            default -> Health.outOfService();
+        };
+        MovieCatalog.Snapshot catalog = movieCatalog.current();
+        builder.withDetail("state", dataLoadJob.state())
+                .withDetail("version", catalog.version())
+                .withDetail("movies", catalog.size());
+        if (dataLoadJob.startedAt() != null) {
+            builder.withDetail("startedAt", dataLoadJob.startedAt().toString());
+        }
+        if (dataLoadJob.finishedAt() != null) {
+            builder.withDetail("finishedAt", dataLoadJob.finishedAt().toString());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.yourorg.imdbloader.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primary pool for writes plus optional replica pools for read-only transactions
+ * ({@code datasource.replica.urls}). Each pool is sized separately and reports
+ * {@code hikaricp.connections.*} metrics tagged with its pool name.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            DataSourceProperties properties,
+            MeterRegistry registry,
+            @Value("${datasource.primary.max-pool-size:10}") int primaryPoolSize,
+            @Value("${datasource.replica.urls:}") List<String> replicaUrls,
+            @Value("${datasource.replica.username:}") String replicaUsername,
+            @Value("${datasource.replica.password:}") String replicaPassword,
+            @Value("${datasource.replica.max-pool-size:20}") int replicaPoolSize) {
+        HikariDataSource primary = pool("primary", properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), properties.determineDriverClassName(), primaryPoolSize, registry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            replicas.put(name, pool(name, url.trim(),
+                    replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername,
+                    replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword,
+                    properties.determineDriverClassName(), replicaPoolSize, registry));
+        }
+        if (replicas.isEmpty()) {
+            log.info("🗄️ Single database pool (max {}), no read replicas configured", primaryPoolSize);
+        } else {
+            log.info("🗄️ Primary pool (max {}) for writes, {} replica pool(s) (max {} each) for read-only transactions",
+                    primaryPoolSize, replicas.size(), replicaPoolSize);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    /**
+     * The application-wide DataSource. JPA, JdbcTemplate and the loader all go through it.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private HikariDataSource pool(String name, String url, String username, String password, String driverClassName,
+                                  int maxPoolSize, MeterRegistry registry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        if (driverClassName != null) {
+            pool.setDriverClassName(driverClassName);
+        }
+        pool.setMaximumPoolSize(maxPoolSize);
+        pool.setMetricRegistry(registry);
+        pools.add(pool);
+        return pool;
+    }
+
+    @PreDestroy
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
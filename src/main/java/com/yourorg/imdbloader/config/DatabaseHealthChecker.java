@@ -9,7 +9,10 @@ import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Component
 public class DatabaseHealthChecker {
@@ -33,13 +36,16 @@ public class DatabaseHealthChecker {
                 "title_basics",
                 "title_akas", 
                 "title_principals",
+                "title_crew",
+                "title_ratings",
                 "name_basics",
                 "user_profiles",
                 "user_preferences"
         );
 
+        Set<String> existing = existingTables(requiredTables);
         for (String table : requiredTables) {
-            if (!tableExists(table)) {
+            if (!existing.contains(table)) {
                 if (table.equals("user_profiles") || table.equals("user_preferences")) {
                     log.info("⚠️ Table '{}' will be created by DatabaseInitializer", table);
                 } else if (!autoLoadData) {
@@ -59,17 +65,19 @@ public class DatabaseHealthChecker {
         }
     }
 
-    private boolean tableExists(String tableName) {
+    /**
+     * Which of the given tables exist, in a single round trip.
+     */
+    private Set<String> existingTables(List<String> tableNames) {
         try {
-            Integer count = jdbcTemplate.queryForObject(
-                    "SELECT COUNT(*) FROM information_schema.tables " +
-                            "WHERE table_schema = 'public' AND table_name = ?",
-                    Integer.class, tableName
-            );
-            return count != null && count > 0;
+            String placeholders = String.join(", ", Collections.nCopies(tableNames.size(), "?"));
+            return new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT table_name FROM information_schema.tables " +
+                            "WHERE table_schema = 'public' AND table_name IN (" + placeholders + ")",
+                    String.class, tableNames.toArray()));
         } catch (Exception e) {
-            log.debug("Error checking table existence for {}: {}", tableName, e.getMessage());
-            return false;
+            log.debug("Error checking table existence: {}", e.getMessage());
+            return Set.of();
         }
     }
 }
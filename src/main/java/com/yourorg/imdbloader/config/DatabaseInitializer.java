@@ -10,8 +10,10 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.sql.DataSource;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 @Component
 public class DatabaseInitializer {
@@ -27,8 +29,13 @@ public class DatabaseInitializer {
         this.dataSource = dataSource;
     }
 
+    /**
+     * Creates the schema and loads the dumps unless data is already present.
+     *
+     * @return per-table ingest stats, empty when loading was skipped
+     */
     @Transactional
-    public void init(Path imdbDataDir) throws SQLException {
+    public List<ImdbLoaderService.TableLoad> init(Path imdbDataDir) throws SQLException {
         log.info("🚀 Initializing database with IMDB data from: {}", imdbDataDir);
 
         try (Connection conn = dataSource.getConnection()) {
@@ -38,13 +45,15 @@ public class DatabaseInitializer {
             // 2. Check if data already exists
             if (isDataAlreadyLoaded(conn)) {
                 log.info("✅ IMDB data already exists in database, skipping data loading");
-                return;
+                return List.of();
             }
 
             // 3. Load IMDB data
-            imdbLoaderService.loadImdbData(imdbDataDir, conn);
+            List<ImdbLoaderService.TableLoad> loads = imdbLoaderService.loadImdbData(imdbDataDir, conn);
+            recordDatasetVersion(conn);
 
             log.info("🎉 Database initialization completed successfully!");
+            return loads;
         }
     }
 
@@ -71,6 +80,25 @@ public class DatabaseInitializer {
                 )
             """);
 
+            // Create omdb_plots table (persistent tier of the OMDb plot cache)
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS omdb_plots (
+                    imdb_id VARCHAR(20) PRIMARY KEY,
+                    plot TEXT,
+                    fetched_at TIMESTAMP NOT NULL
+                )
+            """);
+
+            // Create omdb_prefetch_cursor table (resume point of the background plot prefetcher)
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS omdb_prefetch_cursor (
+                    id SMALLINT PRIMARY KEY,
+                    catalog_fingerprint BIGINT NOT NULL,
+                    position INTEGER NOT NULL,
+                    updated_at TIMESTAMP NOT NULL
+                )
+            """);
+
             // Create name_basics table
             stmt.execute("""
                 CREATE TABLE IF NOT EXISTS name_basics (
@@ -129,6 +157,35 @@ public class DatabaseInitializer {
                 )
             """);
 
+            // Create title_crew table
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS title_crew (
+                    tconst VARCHAR(20) PRIMARY KEY,
+                    directors TEXT,
+                    writers TEXT,
+                    FOREIGN KEY (tconst) REFERENCES title_basics(tconst)
+                )
+            """);
+
+            // Create title_ratings table
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS title_ratings (
+                    tconst VARCHAR(20) PRIMARY KEY,
+                    average_rating NUMERIC(3, 1),
+                    num_votes INTEGER,
+                    FOREIGN KEY (tconst) REFERENCES title_basics(tconst)
+                )
+            """);
+
+            // Single-row marker bumped after every load; catalog snapshots are tied to it
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS imdb_dataset (
+                    id SMALLINT PRIMARY KEY,
+                    version BIGINT NOT NULL,
+                    loaded_at TIMESTAMP NOT NULL
+                )
+            """);
+
             // Create useful indexes for performance
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_title_basics_type ON title_basics(title_type)");
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_title_basics_year ON title_basics(start_year)");
@@ -143,6 +200,15 @@ public class DatabaseInitializer {
         }
     }
 
+    private void recordDatasetVersion(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO imdb_dataset (id, version, loaded_at) VALUES (1, ?, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT (id) DO UPDATE SET version = EXCLUDED.version, loaded_at = EXCLUDED.loaded_at")) {
+            stmt.setLong(1, System.currentTimeMillis());
+            stmt.executeUpdate();
+        }
+    }
+
     private boolean isDataAlreadyLoaded(Connection conn) throws SQLException {
         try (Statement stmt = conn.createStatement()) {
             var rs = stmt.executeQuery("SELECT COUNT(*) FROM title_basics LIMIT 1");
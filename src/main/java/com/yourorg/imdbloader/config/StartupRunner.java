@@ -1,5 +1,7 @@
 package com.yourorg.imdbloader.config;
 
+import com.yourorg.imdbloader.service.DataLoadJob;
+import com.yourorg.imdbloader.service.ImdbLoaderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,12 +12,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+/**
+ * Validates the dump directory and hands loading to {@link DataLoadJob}, which runs in the
+ * background so startup does not wait for the data.
+ */
 @Component
 public class StartupRunner implements CommandLineRunner {
 
     private static final Logger log = LoggerFactory.getLogger(StartupRunner.class);
 
-    private final DatabaseInitializer dbInitializer;
+    private final DataLoadJob dataLoadJob;
     
     @Value("${imdb.data.directory:#{null}}")
     private String imdbDataDirectory;
@@ -23,42 +29,60 @@ public class StartupRunner implements CommandLineRunner {
     @Value("${imdb.data.auto-load:false}")
     private boolean autoLoadData;
 
-    public StartupRunner(DatabaseInitializer dbInitializer) {
-        this.dbInitializer = dbInitializer;
+    public StartupRunner(DataLoadJob dataLoadJob) {
+        this.dataLoadJob = dataLoadJob;
     }
 
     @Override
-    public void run(String... args) throws Exception {
+    public void run(String... args) {
         log.info("🚀 Starting IMDB Loader Application...");
-        
+        Path dumpDirectory = dumpDirectory();
+        dataLoadJob.start(dumpDirectory);
+        if (dumpDirectory != null) {
+            log.info("⏳ IMDB data is loading in the background; catalog endpoints answer 503 until it is ready");
+        }
+        log.info("🔗 API endpoints available at:");
+        log.info("   - GET  /api/movies - Get all movies");
+        log.info("   - GET  /api/movies/{id} - Get movie by ID");
+        log.info("   - GET  /api/movies/search?query=... - Search movies");
+        log.info("   - POST /api/suggest/start - Start suggestion session");
+        log.info("   - POST /api/suggest/feedback - Provide feedback");
+        log.info("   - GET  /api/suggest/{userId} - Get recommendations");
+    }
+
+    /**
+     * The configured dump directory, or null when loading is disabled or the files are incomplete.
+     */
+    private Path dumpDirectory() {
         if (!autoLoadData) {
             log.info("⏭️ Auto-load is disabled (imdb.data.auto-load=false). Skipping data loading.");
             log.info("💡 To enable auto-loading, set imdb.data.auto-load=true and imdb.data.directory in application.properties");
-            return;
+            return null;
         }
         
         if (imdbDataDirectory == null || imdbDataDirectory.trim().isEmpty()) {
             log.warn("⚠️ IMDB data directory not configured. Please set 'imdb.data.directory' in application.properties");
             log.info("💡 Example: imdb.data.directory=C:/path/to/imdb/data");
-            return;
+            return null;
         }
 
         Path imdbDir = Paths.get(imdbDataDirectory);
         
         if (!Files.exists(imdbDir)) {
             log.error("❌ IMDB data directory does not exist: {}", imdbDir);
-            log.info("💡 Please ensure the directory exists and contains IMDB TSV files:");
+            log.info("💡 Please ensure the directory exists and contains IMDB TSV files (plain or .gz):");
             log.info("   - name.basics.tsv");
             log.info("   - title.basics.tsv");
             log.info("   - title.principals.tsv");
             log.info("   - title.akas.tsv");
             log.info("   - title.crew.tsv");
-            return;
+            log.info("   - title.ratings.tsv (optional)");
+            return null;
         }
 
         if (!Files.isDirectory(imdbDir)) {
             log.error("❌ IMDB data path is not a directory: {}", imdbDir);
-            return;
+            return null;
         }
 
         log.info("📁 Using IMDB data directory: {}", imdbDir);
@@ -68,33 +92,19 @@ public class StartupRunner implements CommandLineRunner {
         boolean allFilesExist = true;
         
         for (String fileName : requiredFiles) {
-            Path filePath = imdbDir.resolve(fileName);
+            Path filePath = ImdbLoaderService.dataFile(imdbDir, fileName);
             if (!Files.exists(filePath)) {
                 log.warn("⚠️ Missing required file: {}", filePath);
                 allFilesExist = false;
             } else {
-                log.info("✅ Found: {}", fileName);
+                log.info("✅ Found: {}", filePath.getFileName());
             }
         }
         
         if (!allFilesExist) {
             log.error("❌ Some required IMDB files are missing. Please ensure all TSV files are present.");
-            return;
-        }
-
-        try {
-            dbInitializer.init(imdbDir);
-            log.info("🎉 IMDB data loaded successfully!");
-            log.info("🔗 API endpoints available at:");
-            log.info("   - GET  /api/movies - Get all movies");
-            log.info("   - GET  /api/movies/{id} - Get movie by ID");
-            log.info("   - GET  /api/movies/search?query=... - Search movies");
-            log.info("   - POST /api/suggest/start - Start suggestion session");
-            log.info("   - POST /api/suggest/feedback - Provide feedback");
-            log.info("   - GET  /api/suggest/{userId} - Get recommendations");
-        } catch (Exception e) {
-            log.error("❌ Failed to initialize database with IMDB data", e);
-            throw e;
+            return null;
         }
+        return imdbDir;
     }
 }
@@ -1,56 +1,272 @@
 package com.yourorg.imdbloader.controller;
 
+import com.yourorg.imdbloader.config.AsyncRequestExecutor;
 import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.model.ScoredMovie;
+import com.yourorg.imdbloader.service.ActorGraphService;
+import com.yourorg.imdbloader.service.AkaSearchService;
+import com.yourorg.imdbloader.service.CatalogNotReadyException;
+import com.yourorg.imdbloader.service.DataLoadJob;
 import com.yourorg.imdbloader.service.MovieService;
+import com.yourorg.imdbloader.service.ResponseCache;
 import com.yourorg.imdbloader.service.SuggestService;
 import com.yourorg.imdbloader.dto.*;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api")
 public class ApiController {
 
+    // Distinguishes ETags of node-local state (actor graph, per-user suggestions) from those of
+    // earlier runs or other nodes; dataset ETags are content-derived and valid cluster-wide
+    private static final String NODE_EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
     private final MovieService movieService;
     private final SuggestService suggestService;
+    private final ResponseCache responseCache;
+    private final AsyncRequestExecutor asyncExecutor;
+    private final DataLoadJob dataLoadJob;
+    private final ActorGraphService actorGraphService;
+    private final AkaSearchService akaSearchService;
+
+    @Value("${http.cache.movies-max-age-seconds:300}")
+    private long moviesMaxAgeSeconds;
 
-    public ApiController(MovieService movieService, SuggestService suggestService) {
+    // Most movies a search without a query returns; such a search filters the whole catalog
+    @Value("${search.filter.max-results:100}")
+    private int filterMaxResults;
+
+    public ApiController(MovieService movieService, SuggestService suggestService, ResponseCache responseCache,
+                         AsyncRequestExecutor asyncExecutor, DataLoadJob dataLoadJob,
+                         ActorGraphService actorGraphService, AkaSearchService akaSearchService) {
         this.movieService = movieService;
         this.suggestService = suggestService;
+        this.responseCache = responseCache;
+        this.asyncExecutor = asyncExecutor;
+        this.dataLoadJob = dataLoadJob;
+        this.actorGraphService = actorGraphService;
+        this.akaSearchService = akaSearchService;
     }
 
     // ---------------- EXISTING MOVIE ENDPOINTS ----------------
 
     @GetMapping("/movies")
-    public List<Movie> getAllMovies() {
-        return movieService.getAllMovies();
+    public CompletableFuture<List<ScoredMovie>> getAllMovies() {
+        requireCatalog();
+        return asyncExecutor.supply(() -> ScoredMovie.unscored(movieService.getAllMovies()));
     }
 
     @GetMapping("/movies/{id}")
-    public Movie getMovieById(@PathVariable String id) {
-        return movieService.getMovieById(id);
+    public CompletableFuture<ResponseEntity<byte[]>> getMovieById(@PathVariable String id, WebRequest request) {
+        requireCatalog();
+        return conditional(request, datasetEtag(), moviesCacheControl(), "movie:" + id,
+                () -> {
+                    Movie movie = movieService.getMovieById(id);
+                    return movie == null ? null : new ScoredMovie(movie, 0.0);
+                });
+    }
+
+    @GetMapping("/movies/{id}/similar")
+    public CompletableFuture<ResponseEntity<byte[]>> getSimilarMovies(@PathVariable String id,
+                                                                      @RequestParam(defaultValue = "10") int limit,
+                                                                      WebRequest request) {
+        requireCatalog();
+        if (movieService.getMovieById(id) == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        return conditional(request, datasetEtag(), moviesCacheControl(), "similar:" + id + ":" + limit,
+                () -> movieService.getSimilarMovies(id, limit));
     }
 
     @GetMapping("/movies/search")
-    public List<Movie> searchMovies(@RequestParam String query) {
-        return movieService.searchMovies(query);
+    public CompletableFuture<ResponseEntity<byte[]>> searchMovies(@RequestParam(defaultValue = "") String query,
+                                                                  @RequestParam(required = false) String region,
+                                                                  @RequestParam(required = false) String lang,
+                                                                  @RequestParam(required = false) List<String> genre,
+                                                                  @RequestParam(defaultValue = "all") String genreMatch,
+                                                                  @RequestParam(required = false) Integer yearFrom,
+                                                                  @RequestParam(required = false) Integer yearTo,
+                                                                  @RequestParam(required = false) Double minRating,
+                                                                  @RequestParam(required = false) Integer minVotes,
+                                                                  @RequestParam(defaultValue = "false") boolean facets,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  WebRequest request) {
+        requireCatalog();
+        if (!"all".equalsIgnoreCase(genreMatch) && !"any".equalsIgnoreCase(genreMatch)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        SearchFilter filter = new SearchFilter(genre, "all".equalsIgnoreCase(genreMatch), yearFrom, yearTo,
+                minRating, minVotes);
+        boolean blankQuery = query.isBlank();
+        if (blankQuery && filter.isEmpty() && !facets) {
+            // Nothing to search or filter by; this would be the whole catalog
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        String cacheKey = "search:" + query.toLowerCase(Locale.ROOT) + ":" + region + ":" + lang;
+        if (filter.isEmpty() && !facets && limit == null) {
+            return conditional(request, searchEtag(), moviesCacheControl(), cacheKey,
+                    () -> ScoredMovie.unscored(movieService.searchMovies(query, region, lang)));
+        }
+        int max = limit == null ? (blankQuery ? filterMaxResults : Integer.MAX_VALUE) : Math.max(limit, 0);
+        if (blankQuery) {
+            max = Math.min(max, filterMaxResults);
+        }
+        int resultLimit = max;
+        return conditional(request, searchEtag(), moviesCacheControl(),
+                cacheKey + ":" + filter + ":" + facets + ":" + resultLimit,
+                () -> {
+                    FacetedSearchResponse response = movieService.searchMovies(query, region, lang, filter, facets, resultLimit);
+                    return facets ? response : ScoredMovie.unscored(response.getMovies());
+                });
+    }
+
+    // ---------------- ACTOR ENDPOINTS ----------------
+
+    @GetMapping("/actors/search")
+    public CompletableFuture<ResponseEntity<byte[]>> searchActors(@RequestParam String query,
+                                                                  @RequestParam(defaultValue = "20") int limit,
+                                                                  WebRequest request) {
+        requireActorGraph();
+        return conditional(request, actorEtag(), moviesCacheControl(),
+                "actors:" + query.toLowerCase(Locale.ROOT) + ":" + limit,
+                () -> actorGraphService.search(query, limit));
+    }
+
+    @GetMapping("/actors/{nconst}/movies")
+    public CompletableFuture<ResponseEntity<byte[]>> getActorMovies(@PathVariable String nconst,
+                                                                    @RequestParam(defaultValue = "20") int limit,
+                                                                    WebRequest request) {
+        requireActorGraph();
+        if (!actorGraphService.isKnownActor(nconst)) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        return conditional(request, actorEtag(), moviesCacheControl(), "actor-movies:" + nconst + ":" + limit,
+                () -> ScoredMovie.unscored(actorGraphService.moviesOf(nconst, limit)));
+    }
+
+    @GetMapping("/actors/{nconst}/costars")
+    public CompletableFuture<ResponseEntity<byte[]>> getCoStars(@PathVariable String nconst,
+                                                                @RequestParam(defaultValue = "20") int limit,
+                                                                WebRequest request) {
+        requireActorGraph();
+        if (!actorGraphService.isKnownActor(nconst)) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        return conditional(request, actorEtag(), moviesCacheControl(), "costars:" + nconst + ":" + limit,
+                () -> actorGraphService.coStars(nconst, limit));
+    }
+
+    @GetMapping("/actors/{nconst}/recommendations")
+    public CompletableFuture<ResponseEntity<byte[]>> getCoStarRecommendations(@PathVariable String nconst,
+                                                                              @RequestParam(defaultValue = "10") int limit,
+                                                                              WebRequest request) {
+        requireActorGraph();
+        if (!actorGraphService.isKnownActor(nconst)) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        return conditional(request, actorEtag(), moviesCacheControl(), "costar-recs:" + nconst + ":" + limit,
+                () -> actorGraphService.coStarRecommendations(nconst, limit));
     }
 
     // ---------------- NEW SUGGESTION ENDPOINTS ----------------
 
     @PostMapping("/suggest/start")
-    public SuggestResponse start(@RequestBody StartRequest request) {
-        return suggestService.startSession(request);
+    public CompletableFuture<SuggestResponse> start(@RequestBody StartRequest request) {
+        return asyncExecutor.supply(() -> suggestService.startSession(request));
     }
 
     @PostMapping("/suggest/feedback")
-    public SuggestResponse feedback(@RequestBody FeedbackRequest request) {
-        return suggestService.recordFeedback(request.getUserId(), request.getLikedMovieIds());
+    public CompletableFuture<SuggestResponse> feedback(@RequestBody FeedbackRequest request) {
+        return asyncExecutor.supply(() -> suggestService.recordFeedback(request.getUserId(), request.getLikedMovieIds()));
     }
 
     @GetMapping("/suggest/{userId}")
-    public SuggestResponse getSuggestions(@PathVariable String userId) {
-        return suggestService.getRecommendations(userId);
+    public CompletableFuture<ResponseEntity<byte[]>> getSuggestions(@PathVariable String userId, WebRequest request) {
+        String etag = "W/\"s-" + NODE_EPOCH + "-" + suggestService.recommendationVersion(userId) + "\"";
+        // Clients must revalidate, but an unchanged list costs only a 304
+        return conditional(request, etag, CacheControl.noCache().cachePrivate(), "suggest:" + userId,
+                () -> suggestService.getRecommendations(userId));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> overloaded() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    @ExceptionHandler(CatalogNotReadyException.class)
+    public ResponseEntity<String> catalogNotReady(CatalogNotReadyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(e.getMessage());
+    }
+
+    // Suggestion endpoints work before the catalog is loaded; movie endpoints need it
+    private void requireCatalog() {
+        if (!dataLoadJob.isCatalogReady()) {
+            throw new CatalogNotReadyException(dataLoadJob.state());
+        }
+    }
+
+    private void requireActorGraph() {
+        requireCatalog();
+        if (!actorGraphService.isReady()) {
+            throw new CatalogNotReadyException("Actor graph is not ready");
+        }
+    }
+
+    // ---------------- CONDITIONAL RESPONSES ----------------
+
+    /**
+     * Answers 304 on the request thread when the client already holds the current ETag, otherwise
+     * serves the cached serialized body, computing it on the async executor only on a cache miss.
+     */
+    private CompletableFuture<ResponseEntity<byte[]>> conditional(WebRequest request, String etag,
+                                                                  CacheControl cacheControl, String cacheKey,
+                                                                  Supplier<Object> body) {
+        if (request.checkNotModified(etag)) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build());
+        }
+        return asyncExecutor.supply(() -> responseCache.getOrCompute(cacheKey, etag, body))
+                .thenApply(bytes -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(bytes));
+    }
+
+    private String datasetEtag() {
+        return "\"m-" + movieService.datasetVersion() + "\"";
+    }
+
+    // Search results grow once the fuzzy and aka indexes for the current catalog are built
+    private String searchEtag() {
+        return "\"s-" + movieService.datasetVersion()
+                + (movieService.isFuzzyIndexReady() ? "-fuzzy" : "")
+                + (akaSearchService.isReady() ? "-akas" : "") + "\"";
+    }
+
+    private String actorEtag() {
+        return "\"a-" + NODE_EPOCH + "-" + actorGraphService.version() + "\"";
+    }
+
+    private CacheControl moviesCacheControl() {
+        return CacheControl.maxAge(moviesMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
     }
 }
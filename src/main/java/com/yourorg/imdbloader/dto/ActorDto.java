@@ -0,0 +1,25 @@
+package com.yourorg.imdbloader.dto;
+
+public class ActorDto {
+    private String nconst;
+    private String name;
+    private int titles;
+
+    public ActorDto(String nconst, String name, int titles) {
+        this.nconst = nconst;
+        this.name = name;
+        this.titles = titles;
+    }
+
+    public String getNconst() {
+        return nconst;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getTitles() {
+        return titles;
+    }
+}
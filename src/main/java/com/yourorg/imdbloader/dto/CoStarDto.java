@@ -0,0 +1,25 @@
+package com.yourorg.imdbloader.dto;
+
+public class CoStarDto {
+    private String nconst;
+    private String name;
+    private int sharedTitles;
+
+    public CoStarDto(String nconst, String name, int sharedTitles) {
+        this.nconst = nconst;
+        this.name = name;
+        this.sharedTitles = sharedTitles;
+    }
+
+    public String getNconst() {
+        return nconst;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSharedTitles() {
+        return sharedTitles;
+    }
+}
@@ -0,0 +1,47 @@
+package com.yourorg.imdbloader.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.model.ScoredMovie;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search results with facet counts. {@code total} counts every match, {@code movies} may be cut
+ * to the requested limit; {@code facets} maps "genres", "decades", "ratings" and "votes" to
+ * bucket counts.
+ */
+@JsonPropertyOrder({"total", "movies", "facets"})
+public class FacetedSearchResponse {
+    private final int total;
+    private final List<Movie> movies;
+    private final Map<String, Map<String, Integer>> facets;
+
+    public FacetedSearchResponse(int total, List<Movie> movies, Map<String, Map<String, Integer>> facets) {
+        this.total = total;
+        this.movies = movies;
+        this.facets = facets;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @JsonIgnore
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    // Serialized with a zero score, like every other movie listing
+    @JsonProperty("movies")
+    public List<ScoredMovie> getUnscoredMovies() {
+        return ScoredMovie.unscored(movies);
+    }
+
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,66 @@
+package com.yourorg.imdbloader.dto;
+
+import java.util.List;
+
+/**
+ * Facet filters of a movie search. Null fields do not filter.
+ */
+public class SearchFilter {
+    private final List<String> genres;
+    private final boolean allGenres;
+    private final Integer yearFrom;
+    private final Integer yearTo;
+    private final Double minRating;
+    private final Integer minVotes;
+
+    /**
+     * @param allGenres true to require every listed genre, false for any of them
+     */
+    public SearchFilter(List<String> genres, boolean allGenres, Integer yearFrom, Integer yearTo,
+                        Double minRating, Integer minVotes) {
+        this.genres = genres == null ? List.of() : genres;
+        this.allGenres = allGenres;
+        this.yearFrom = yearFrom;
+        this.yearTo = yearTo;
+        this.minRating = minRating;
+        this.minVotes = minVotes;
+    }
+
+    public List<String> getGenres() {
+        return genres;
+    }
+
+    public boolean isAllGenres() {
+        return allGenres;
+    }
+
+    public Integer getYearFrom() {
+        return yearFrom;
+    }
+
+    public Integer getYearTo() {
+        return yearTo;
+    }
+
+    public Double getMinRating() {
+        return minRating;
+    }
+
+    public Integer getMinVotes() {
+        return minVotes;
+    }
+
+    public boolean hasYears() {
+        return yearFrom != null || yearTo != null;
+    }
+
+    public boolean isEmpty() {
+        return genres.isEmpty() && !hasYears() && minRating == null && minVotes == null;
+    }
+
+    @Override
+    public String toString() {
+        return "genres=" + genres + (allGenres ? "(all)" : "(any)") + ";years=" + yearFrom + "-" + yearTo
+                + ";minRating=" + minRating + ";minVotes=" + minVotes;
+    }
+}
@@ -1,13 +1,13 @@
 package com.yourorg.imdbloader.dto;
 
-import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.model.ScoredMovie;
 import java.util.List;
 
 public class SuggestResponse {
     private String userId;
-    private List<Movie> recommendations;
+    private List<ScoredMovie> recommendations;
 
-    public SuggestResponse(String userId, List<Movie> recommendations) {
+    public SuggestResponse(String userId, List<ScoredMovie> recommendations) {
         this.userId = userId;
         this.recommendations = recommendations;
     }
@@ -16,7 +16,7 @@ public class SuggestResponse {
         return userId;
     }
 
-    public List<Movie> getRecommendations() {
+    public List<ScoredMovie> getRecommendations() {
         return recommendations;
     }
 }
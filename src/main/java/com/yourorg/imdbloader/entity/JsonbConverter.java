@@ -2,6 +2,8 @@ package com.yourorg.imdbloader.entity;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
@@ -12,19 +14,30 @@ import java.util.Map;
 @Converter
 public class JsonbConverter implements AttributeConverter<Map<String, Object>, String> {
 
+    // Instantiated by Hibernate rather than Spring, so timers go to the global registry,
+    // which Spring Boot links to the application's registries
+    private static final Timer WRITE_TIMER = Timer.builder("jsonb.convert").tag("direction", "write")
+            .register(Metrics.globalRegistry);
+    private static final Timer READ_TIMER = Timer.builder("jsonb.convert").tag("direction", "read")
+            .register(Metrics.globalRegistry);
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
     public String convertToDatabaseColumn(Map<String, Object> attribute) {
+        Timer.Sample sample = Timer.start();
         try {
             return objectMapper.writeValueAsString(attribute != null ? attribute : new HashMap<>());
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException("Error converting map to JSON", e);
+        } finally {
+            sample.stop(WRITE_TIMER);
         }
     }
 
     @Override
     public Map<String, Object> convertToEntityAttribute(String dbData) {
+        Timer.Sample sample = Timer.start();
         try {
             if (dbData == null || dbData.trim().isEmpty()) {
                 return new HashMap<>();
@@ -32,6 +45,8 @@ public class JsonbConverter implements AttributeConverter<Map<String, Object>, S
             return objectMapper.readValue(dbData, Map.class);
         } catch (IOException e) {
             throw new IllegalArgumentException("Error reading JSON to map", e);
+        } finally {
+            sample.stop(READ_TIMER);
         }
     }
 }
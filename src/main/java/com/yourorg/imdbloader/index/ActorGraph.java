@@ -0,0 +1,396 @@
+package com.yourorg.imdbloader.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable actor–title bipartite graph in CSR form, in both directions.
+ *
+ * <p>Titles and actors are dense ordinals; IMDb ids are kept as their numeric part
+ * ({@code tt0111161} → 111161). Per edge the graph holds two ints (title → cast and
+ * actor → titles), so memory is about 8 bytes per credit plus ~20 bytes per title and,
+ * per actor, the UTF-8 name and ~8 bytes per name word for the prefix search index.</p>
+ */
+public final class ActorGraph {
+
+    public static final String TITLE_PREFIX = "tt";
+    public static final String NAME_PREFIX = "nm";
+
+    // Title ordinal -> tconst number, and (tconst << 32 | ordinal) sorted for lookups
+    private final int[] titleIds;
+    private final long[] titleIndex;
+    private final int[] castOffsets;
+    private final int[] cast;
+
+    // Actor ordinal = index into the sorted nconst numbers
+    private final int[] actorIds;
+    private final int[] creditOffsets;
+    private final int[] credits;
+
+    // NUL-terminated UTF-8 names, -1 for actors missing from name_basics
+    private final byte[] names;
+    private final int[] nameStart;
+    // (first four folded bytes of a name word << 32 | actor ordinal), sorted
+    private final long[] nameWords;
+
+    private ActorGraph(int[] titleIds, long[] titleIndex, int[] castOffsets, int[] cast,
+                       int[] actorIds, int[] creditOffsets, int[] credits,
+                       byte[] names, int[] nameStart, long[] nameWords) {
+        this.titleIds = titleIds;
+        this.titleIndex = titleIndex;
+        this.castOffsets = castOffsets;
+        this.cast = cast;
+        this.actorIds = actorIds;
+        this.creditOffsets = creditOffsets;
+        this.credits = credits;
+        this.names = names;
+        this.nameStart = nameStart;
+        this.nameWords = nameWords;
+    }
+
+    public static ActorGraph empty() {
+        Builder builder = new Builder();
+        builder.indexActors();
+        return builder.build();
+    }
+
+    // ---------------- IDS ----------------
+
+    /**
+     * Numeric part of an IMDb id with the given prefix, or -1 if it is not one.
+     */
+    public static int parseId(String id, String prefix) {
+        if (id == null || id.length() <= prefix.length() || id.length() > prefix.length() + 9 || !id.startsWith(prefix)) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = prefix.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public static String formatId(String prefix, int number) {
+        String digits = Integer.toString(number);
+        return digits.length() >= 7 ? prefix + digits : prefix + "0".repeat(7 - digits.length()) + digits;
+    }
+
+    public int titleCount() {
+        return titleIds.length;
+    }
+
+    public int actorCount() {
+        return actorIds.length;
+    }
+
+    public int edgeCount() {
+        return cast.length;
+    }
+
+    public int titleOrdinal(int tconst) {
+        int i = Arrays.binarySearch(titleIndex, (long) tconst << 32);
+        i = i < 0 ? -i - 1 : i;
+        return i < titleIndex.length && (int) (titleIndex[i] >>> 32) == tconst ? (int) titleIndex[i] : -1;
+    }
+
+    public int actorOrdinal(int nconst) {
+        int i = Arrays.binarySearch(actorIds, nconst);
+        return i < 0 ? -1 : i;
+    }
+
+    public int tconst(int title) {
+        return titleIds[title];
+    }
+
+    public int nconst(int actor) {
+        return actorIds[actor];
+    }
+
+    // ---------------- ADJACENCY ----------------
+
+    public int castSize(int title) {
+        return castOffsets[title + 1] - castOffsets[title];
+    }
+
+    /**
+     * Actor ordinal of the i-th credited cast member, in billing order.
+     */
+    public int castMember(int title, int i) {
+        return cast[castOffsets[title] + i];
+    }
+
+    public int creditCount(int actor) {
+        return creditOffsets[actor + 1] - creditOffsets[actor];
+    }
+
+    /**
+     * Title ordinal of the actor's i-th credit, in title ordinal order.
+     */
+    public int credit(int actor, int i) {
+        return credits[creditOffsets[actor] + i];
+    }
+
+    /**
+     * Actors sharing a title with the given one, ranked by the number of shared titles.
+     * Looks at no more than {@code maxTitles} of the actor's credits.
+     *
+     * @return co-star ordinals and shared title counts, best first
+     */
+    public int[][] coStars(int actor, int limit, int maxTitles) {
+        Map<Integer, int[]> shared = new HashMap<>();
+        int titles = Math.min(creditCount(actor), maxTitles);
+        for (int i = 0; i < titles; i++) {
+            int title = credit(actor, i);
+            for (int c = castOffsets[title]; c < castOffsets[title + 1]; c++) {
+                if (cast[c] != actor) {
+                    shared.computeIfAbsent(cast[c], k -> new int[1])[0]++;
+                }
+            }
+        }
+        if (shared.isEmpty() || limit <= 0) {
+            return new int[][]{new int[0], new int[0]};
+        }
+        TopK top = new TopK(Math.min(limit, shared.size()));
+        // Ties go to the actor with more credits overall
+        shared.forEach((coStar, count) -> top.offer(coStar, count[0] + creditCount(coStar) / (creditCount(coStar) + 1f)));
+        int[] ids = new int[top.size()];
+        float[] scores = new float[ids.length];
+        top.drainDescending(ids, scores, 0);
+        int[] counts = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            counts[i] = shared.get(ids[i])[0];
+        }
+        return new int[][]{ids, counts};
+    }
+
+    // ---------------- NAMES ----------------
+
+    public String name(int actor) {
+        int start = nameStart[actor];
+        if (start < 0) {
+            return null;
+        }
+        int end = start;
+        while (names[end] != 0) {
+            end++;
+        }
+        return new String(names, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Actors with a name word starting with the query (ASCII case-insensitive; a multi-word query
+     * must match consecutive words), most credited first. At most {@code maxScan} index entries
+     * are examined, which bounds the cost of very short queries.
+     */
+    public int[] searchByName(String query, int limit, int maxScan) {
+        byte[] q = fold(query.trim().getBytes(StandardCharsets.UTF_8));
+        if (q.length == 0 || limit <= 0) {
+            return new int[0];
+        }
+        int low = 0;
+        int high = 0;
+        for (int b = 0; b < 4; b++) {
+            low = (low << 8) | (b < q.length ? q[b] & 0xFF : 0);
+            high = (high << 8) | (b < q.length ? q[b] & 0xFF : 0xFF);
+        }
+        int from = lowerBound((long) (low ^ Integer.MIN_VALUE) << 32);
+        int to = lowerBound(((long) (high ^ Integer.MIN_VALUE) << 32) | 0xFFFFFFFFL);
+        TopK top = new TopK(limit);
+        Set<Integer> matched = new HashSet<>();
+        for (int i = from; i < to && i < from + maxScan; i++) {
+            int actor = (int) nameWords[i];
+            if (!matched.contains(actor) && nameMatches(actor, q)) {
+                matched.add(actor);
+                top.offer(actor, creditCount(actor));
+            }
+        }
+        int[] ids = new int[top.size()];
+        top.drainDescending(ids, new float[ids.length], 0);
+        return ids;
+    }
+
+    private int lowerBound(long key) {
+        int i = Arrays.binarySearch(nameWords, key);
+        return i < 0 ? -i - 1 : i;
+    }
+
+    private boolean nameMatches(int actor, byte[] q) {
+        int start = nameStart[actor];
+        for (int p = start; names[p] != 0; p++) {
+            if (isWordStart(names, start, p) && startsWith(names, p, q)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(byte[] names, int p, byte[] q) {
+        for (int i = 0; i < q.length; i++) {
+            if (names[p + i] == 0 || fold(names[p + i]) != q[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordStart(byte[] names, int start, int p) {
+        return isWordByte(names[p]) && (p == start || !isWordByte(names[p - 1]));
+    }
+
+    // Letters, digits and every byte of a multi-byte UTF-8 character
+    private static boolean isWordByte(byte b) {
+        return b < 0 || Character.isLetterOrDigit((char) b);
+    }
+
+    private static byte fold(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static byte[] fold(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = fold(bytes[i]);
+        }
+        return bytes;
+    }
+
+    /**
+     * Collects credits grouped by title (all of a title's credits consecutive, in billing order),
+     * then names. Call {@link #indexActors()} between the two phases.
+     */
+    public static final class Builder {
+
+        private final IntArrayList titleIds = new IntArrayList(1 << 16);
+        private final IntArrayList castOffsets = new IntArrayList(1 << 16);
+        private final IntArrayList castIds = new IntArrayList(1 << 18);
+
+        private int[] actorIds;
+        private int[] cast;
+        private byte[] names = new byte[1 << 16];
+        private int namesSize;
+        private int[] nameStart;
+        private int wordCount;
+
+        public Builder() {
+            castOffsets.add(0);
+        }
+
+        public void addCredit(int tconst, int nconst) {
+            int titles = titleIds.size();
+            if (titles == 0 || titleIds.get(titles - 1) != tconst) {
+                if (titles > 0) {
+                    castOffsets.add(castIds.size());
+                }
+                titleIds.add(tconst);
+            }
+            castIds.add(nconst);
+        }
+
+        /**
+         * Assigns actor ordinals. Credits cannot be added afterwards.
+         */
+        public void indexActors() {
+            if (!titleIds.isEmpty()) {
+                castOffsets.add(castIds.size());
+            }
+            cast = castIds.toArray();
+            castIds.clear();
+            int[] sorted = cast.clone();
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            actorIds = Arrays.copyOf(sorted, distinct);
+            for (int i = 0; i < cast.length; i++) {
+                cast[i] = Arrays.binarySearch(actorIds, cast[i]);
+            }
+            nameStart = new int[actorIds.length];
+            Arrays.fill(nameStart, -1);
+        }
+
+        /**
+         * Records an actor's name; names of people without credits in the graph are ignored.
+         */
+        public void addName(int nconst, String name) {
+            int actor = Arrays.binarySearch(actorIds, nconst);
+            if (actor < 0 || name == null || name.isEmpty() || nameStart[actor] >= 0) {
+                return;
+            }
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (namesSize + bytes.length + 1 > names.length) {
+                names = Arrays.copyOf(names, Math.max(names.length + (names.length >> 1), namesSize + bytes.length + 1));
+            }
+            nameStart[actor] = namesSize;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] != 0 && isWordStart(bytes, 0, i)) {
+                    wordCount++;
+                }
+                // NUL terminates names in the blob
+                names[namesSize++] = bytes[i] == 0 ? (byte) ' ' : bytes[i];
+            }
+            names[namesSize++] = 0;
+        }
+
+        public ActorGraph build() {
+            int titles = titleIds.size();
+            int[] titleIdArray = titleIds.toArray();
+            long[] titleIndex = new long[titles];
+            for (int t = 0; t < titles; t++) {
+                titleIndex[t] = (long) titleIdArray[t] << 32 | t;
+            }
+            Arrays.sort(titleIndex);
+            int[] offsets = castOffsets.toArray();
+
+            int actors = actorIds.length;
+            int[] creditOffsets = new int[actors + 1];
+            for (int actor : cast) {
+                creditOffsets[actor + 1]++;
+            }
+            for (int a = 0; a < actors; a++) {
+                creditOffsets[a + 1] += creditOffsets[a];
+            }
+            int[] fill = Arrays.copyOf(creditOffsets, actors);
+            int[] credits = new int[cast.length];
+            for (int t = 0; t < titles; t++) {
+                for (int c = offsets[t]; c < offsets[t + 1]; c++) {
+                    credits[fill[cast[c]]++] = t;
+                }
+            }
+
+            byte[] nameBlob = Arrays.copyOf(names, namesSize);
+            long[] words = new long[wordCount];
+            int w = 0;
+            for (int a = 0; a < actors; a++) {
+                int start = nameStart[a];
+                if (start < 0) {
+                    continue;
+                }
+                for (int p = start; nameBlob[p] != 0; p++) {
+                    if (isWordStart(nameBlob, start, p)) {
+                        int key = 0;
+                        boolean ended = false;
+                        for (int b = 0; b < 4; b++) {
+                            ended = ended || nameBlob[p + b] == 0;
+                            key = (key << 8) | (ended ? 0 : fold(nameBlob[p + b]) & 0xFF);
+                        }
+                        // Flipping the sign bit makes signed long order match unsigned byte order
+                        words[w++] = (long) (key ^ Integer.MIN_VALUE) << 32 | a;
+                    }
+                }
+            }
+            Arrays.sort(words, 0, w);
+            return new ActorGraph(titleIdArray, titleIndex, offsets, cast, actorIds, creditOffsets, credits,
+                    nameBlob, nameStart, w == words.length ? words : Arrays.copyOf(words, w));
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.yourorg.imdbloader.index;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token index over alternative titles (akas). Each aka belongs to one document (a catalog
+ * ordinal) and carries a region and a language code, so queries can favour akas from the
+ * caller's locale.
+ *
+ * <p>Terms are {@link TextFolding} tokens, sorted by UTF-8 bytes and front-coded in blocks of
+ * {@value #BLOCK_SIZE}: the first term of a block is stored whole, the rest as the length shared
+ * with the previous term plus the new suffix. Postings are ascending aka ids, delta-encoded as
+ * varints in one byte array. Immutable once built; safe to share between threads.</p>
+ */
+public final class AkaSearchIndex {
+
+    public static final int NO_TAG = -1;
+
+    static final int BLOCK_SIZE = 16;
+
+    private static final float BASE_SCORE = 1f;
+    private static final float REGION_BOOST = 1f;
+    private static final float LANGUAGE_BOOST = 0.5f;
+
+    private final int termCount;
+    private final byte[] terms;
+    private final int[] blockOffsets;
+    private final byte[] postings;
+    private final int[] postingOffsets;
+    private final int[] akaDoc;
+    private final short[] akaRegion;
+    private final short[] akaLanguage;
+
+    private AkaSearchIndex(int termCount, byte[] terms, int[] blockOffsets, byte[] postings,
+                           int[] postingOffsets, int[] akaDoc, short[] akaRegion, short[] akaLanguage) {
+        this.termCount = termCount;
+        this.terms = terms;
+        this.blockOffsets = blockOffsets;
+        this.postings = postings;
+        this.postingOffsets = postingOffsets;
+        this.akaDoc = akaDoc;
+        this.akaRegion = akaRegion;
+        this.akaLanguage = akaLanguage;
+    }
+
+    public int akaCount() {
+        return akaDoc.length;
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    /**
+     * Bytes held by the front-coded term dictionary and its block offsets.
+     */
+    public long dictionaryBytes() {
+        return terms.length + 4L * blockOffsets.length;
+    }
+
+    /**
+     * Bytes held by postings, their offsets and the per-aka document and tag columns.
+     */
+    public long postingBytes() {
+        return postings.length + 4L * postingOffsets.length + 4L * akaDoc.length
+                + 2L * akaRegion.length + 2L * akaLanguage.length;
+    }
+
+    /**
+     * Documents with an aka containing every query token; the last token also matches as a
+     * prefix, expanded to at most {@code maxExpansions} terms. A document scores its best aka:
+     * 1, plus 1 when the aka's region equals {@code region}, plus 0.5 when its language equals
+     * {@code language} (pass {@link #NO_TAG} to skip either boost).
+     *
+     * @return document to score; empty when nothing matches
+     */
+    public Map<Integer, Float> search(String query, int region, int language, int maxExpansions) {
+        List<String> tokens = TextFolding.tokens(query);
+        if (tokens.isEmpty()) {
+            return Map.of();
+        }
+        List<int[]> lists = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size() - 1; i++) {
+            int term = find(utf8(tokens.get(i)));
+            if (term < 0) {
+                return Map.of();
+            }
+            lists.add(decodePostings(term));
+        }
+        int[] last = prefixPostings(utf8(tokens.get(tokens.size() - 1)), maxExpansions);
+        if (last.length == 0) {
+            return Map.of();
+        }
+        lists.add(last);
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] akas = lists.get(0);
+        for (int i = 1; i < lists.size() && akas.length > 0; i++) {
+            akas = intersect(akas, lists.get(i));
+        }
+
+        Map<Integer, Float> docs = new HashMap<>();
+        for (int aka : akas) {
+            float score = BASE_SCORE;
+            if (region != NO_TAG && akaRegion[aka] == region) {
+                score += REGION_BOOST;
+            }
+            if (language != NO_TAG && akaLanguage[aka] == language) {
+                score += LANGUAGE_BOOST;
+            }
+            docs.merge(akaDoc[aka], score, Math::max);
+        }
+        return docs;
+    }
+
+    /**
+     * Term number of an exact term, or -1.
+     */
+    private int find(byte[] term) {
+        TermCursor cursor = new TermCursor(blockFor(term));
+        while (cursor.next()) {
+            int cmp = cursor.compareTo(term);
+            if (cmp == 0) {
+                return cursor.term;
+            }
+            if (cmp > 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private int[] prefixPostings(byte[] prefix, int maxExpansions) {
+        TermCursor cursor = new TermCursor(blockFor(prefix));
+        int first = -1;
+        int end = -1;
+        while (cursor.next()) {
+            if (cursor.startsWith(prefix)) {
+                if (first < 0) {
+                    first = cursor.term;
+                }
+                end = cursor.term + 1;
+                if (end - first >= maxExpansions) {
+                    break;
+                }
+            } else if (cursor.compareTo(prefix) > 0) {
+                break;
+            }
+        }
+        if (first < 0) {
+            return new int[0];
+        }
+        if (end - first == 1) {
+            return decodePostings(first);
+        }
+        IntArrayList merged = new IntArrayList();
+        for (int term = first; term < end; term++) {
+            for (int aka : decodePostings(term)) {
+                merged.add(aka);
+            }
+        }
+        merged.sortAndDedup();
+        return merged.toArray();
+    }
+
+    /**
+     * Last block whose first term is not greater than the key.
+     */
+    private int blockFor(byte[] key) {
+        int lo = 0;
+        int hi = blockOffsets.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (compareFirstTerm(mid, key) <= 0) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private int compareFirstTerm(int block, byte[] key) {
+        int pos = blockOffsets[block];
+        long header = readVarint(terms, pos);
+        int length = (int) header;
+        int start = pos + (int) (header >>> 32);
+        return Arrays.compareUnsigned(terms, start, start + length, key, 0, key.length);
+    }
+
+    private int[] decodePostings(int term) {
+        int pos = postingOffsets[term];
+        int end = postingOffsets[term + 1];
+        IntArrayList akas = new IntArrayList(8);
+        int previous = 0;
+        while (pos < end) {
+            long value = readVarint(postings, pos);
+            previous += (int) value;
+            akas.add(previous);
+            pos += (int) (value >>> 32);
+        }
+        return akas.toArray();
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Reads an unsigned varint; returns the value in the low 32 bits and the bytes consumed above them.
+     */
+    private static long readVarint(byte[] buf, int pos) {
+        int value = 0;
+        int shift = 0;
+        int read = 0;
+        byte b;
+        do {
+            b = buf[pos + read++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return ((long) read << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Walks terms in order from the start of a block, rebuilding each from its front-coded form.
+     */
+    private final class TermCursor {
+
+        private byte[] current = new byte[64];
+        private int length;
+        private int pos;
+        private int term;
+
+        TermCursor(int block) {
+            this.pos = blockOffsets[block];
+            this.term = block * BLOCK_SIZE - 1;
+        }
+
+        boolean next() {
+            if (term + 1 >= termCount) {
+                return false;
+            }
+            term++;
+            int shared = 0;
+            if (term % BLOCK_SIZE != 0) {
+                long header = readVarint(terms, pos);
+                shared = (int) header;
+                pos += (int) (header >>> 32);
+            }
+            long header = readVarint(terms, pos);
+            int suffix = (int) header;
+            pos += (int) (header >>> 32);
+            if (shared + suffix > current.length) {
+                current = Arrays.copyOf(current, Math.max(shared + suffix, current.length * 2));
+            }
+            System.arraycopy(terms, pos, current, shared, suffix);
+            pos += suffix;
+            length = shared + suffix;
+            return true;
+        }
+
+        int compareTo(byte[] key) {
+            return Arrays.compareUnsigned(current, 0, length, key, 0, key.length);
+        }
+
+        boolean startsWith(byte[] prefix) {
+            return length >= prefix.length
+                    && Arrays.equals(current, 0, prefix.length, prefix, 0, prefix.length);
+        }
+    }
+
+    /**
+     * Collects akas in any order; aka ids are assigned in call order.
+     */
+    public static final class Builder {
+
+        private final IntArrayList docs = new IntArrayList();
+        private final IntArrayList regions = new IntArrayList();
+        private final IntArrayList languages = new IntArrayList();
+        private final Map<String, IntArrayList> postings = new HashMap<>();
+
+        /**
+         * @param region   dictionary code of the aka's region, or {@link #NO_TAG}
+         * @param language dictionary code of the aka's language, or {@link #NO_TAG}
+         */
+        public void add(int doc, String title, int region, int language) {
+            List<String> tokens = TextFolding.tokens(title);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            int aka = docs.size();
+            docs.add(doc);
+            regions.add(region);
+            languages.add(language);
+            for (String token : tokens) {
+                IntArrayList list = postings.computeIfAbsent(token, t -> new IntArrayList(2));
+                if (list.isEmpty() || list.get(list.size() - 1) != aka) {
+                    list.add(aka);
+                }
+            }
+        }
+
+        public AkaSearchIndex build() {
+            byte[][] sorted = new byte[postings.size()][];
+            int n = 0;
+            for (String term : postings.keySet()) {
+                sorted[n++] = utf8(term);
+            }
+            Arrays.sort(sorted, Arrays::compareUnsigned);
+
+            ByteArrayOutputStream termBytes = new ByteArrayOutputStream();
+            ByteArrayOutputStream postingBytes = new ByteArrayOutputStream();
+            int[] blockOffsets = new int[Math.max((sorted.length + BLOCK_SIZE - 1) / BLOCK_SIZE, 1)];
+            int[] postingOffsets = new int[sorted.length + 1];
+            byte[] previous = new byte[0];
+            for (int t = 0; t < sorted.length; t++) {
+                byte[] term = sorted[t];
+                if (t % BLOCK_SIZE == 0) {
+                    blockOffsets[t / BLOCK_SIZE] = termBytes.size();
+                    writeVarint(termBytes, term.length);
+                    termBytes.write(term, 0, term.length);
+                } else {
+                    int shared = Arrays.mismatch(previous, term);
+                    shared = shared < 0 ? term.length : shared;
+                    writeVarint(termBytes, shared);
+                    writeVarint(termBytes, term.length - shared);
+                    termBytes.write(term, shared, term.length - shared);
+                }
+                previous = term;
+
+                postingOffsets[t] = postingBytes.size();
+                IntArrayList akas = postings.get(new String(term, StandardCharsets.UTF_8));
+                int last = 0;
+                for (int i = 0; i < akas.size(); i++) {
+                    writeVarint(postingBytes, akas.get(i) - last);
+                    last = akas.get(i);
+                }
+            }
+            postingOffsets[sorted.length] = postingBytes.size();
+
+            int[] docArray = docs.toArray();
+            short[] regionArray = new short[docArray.length];
+            short[] languageArray = new short[docArray.length];
+            for (int i = 0; i < docArray.length; i++) {
+                regionArray[i] = (short) regions.get(i);
+                languageArray[i] = (short) languages.get(i);
+            }
+            return new AkaSearchIndex(sorted.length, termBytes.toByteArray(), blockOffsets,
+                    postingBytes.toByteArray(), postingOffsets, docArray, regionArray, languageArray);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.yourorg.imdbloader.index;
+
+import com.yourorg.imdbloader.model.Dictionaries;
+import com.yourorg.imdbloader.model.Movie;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * {@link RoaringBitmap}s of catalog ordinals per genre, release decade, rating bucket (whole
+ * stars, 0-10) and votes bucket (powers of ten from 100). Filters combine them with AND/OR, and
+ * facet counts are intersection cardinalities.
+ *
+ * <p>Range filters use cumulative bitmaps (every bucket from b up, or from b down) for the whole
+ * buckets they cover, and split only the bucket a boundary falls into, checking year, rating or
+ * votes in primitive columns.</p>
+ */
+public final class FacetIndex {
+
+    /** Lower bounds of the votes buckets */
+    public static final int[] VOTE_BUCKETS = {0, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    private static final int RATING_BUCKETS = 11;
+
+    private final int[] years;
+    private final float[] ratings;
+    private final int[] votes;
+    private final RoaringBitmap all;
+    private final RoaringBitmap[] byGenre = new RoaringBitmap[Long.SIZE];
+    // Indexed by year / 10; movies without a year are in no decade
+    private final RoaringBitmap[] byDecade;
+    private final RoaringBitmap[] byRating = new RoaringBitmap[RATING_BUCKETS];
+    private final RoaringBitmap[] byVotes = new RoaringBitmap[VOTE_BUCKETS.length];
+    private final RoaringBitmap[] decadeOrLater;
+    private final RoaringBitmap[] decadeOrEarlier;
+    private final RoaringBitmap[] ratingOrHigher;
+    private final RoaringBitmap[] votesOrMore;
+
+    public FacetIndex(List<Movie> movies) {
+        int n = movies.size();
+        this.years = new int[n];
+        this.ratings = new float[n];
+        this.votes = new int[n];
+        this.all = RoaringBitmap.range(n);
+        int maxYear = 0;
+        for (Movie movie : movies) {
+            maxYear = Math.max(maxYear, movie.getYear());
+        }
+        this.byDecade = new RoaringBitmap[maxYear / 10 + 1];
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            years[i] = movie.getYear();
+            ratings[i] = (float) movie.getRating();
+            votes[i] = movie.getVotes();
+            for (long bits = movie.getGenreMask(); bits != 0; bits &= bits - 1) {
+                add(byGenre, Long.numberOfTrailingZeros(bits), i);
+            }
+            if (movie.getYear() > 0) {
+                add(byDecade, movie.getYear() / 10, i);
+            }
+            add(byRating, ratingBucket(movie.getRating()), i);
+            add(byVotes, votesBucket(movie.getVotes()), i);
+        }
+        this.decadeOrLater = cumulative(byDecade, false);
+        this.decadeOrEarlier = cumulative(byDecade, true);
+        this.ratingOrHigher = cumulative(byRating, false);
+        this.votesOrMore = cumulative(byVotes, false);
+    }
+
+    public RoaringBitmap all() {
+        return all;
+    }
+
+    /**
+     * Movies with all (or, with {@code matchAll} false, any) of the genres in the mask.
+     */
+    public RoaringBitmap genres(long mask, boolean matchAll) {
+        RoaringBitmap result = null;
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            RoaringBitmap genre = bitmap(byGenre, Long.numberOfTrailingZeros(bits));
+            result = result == null ? genre
+                    : matchAll ? RoaringBitmap.and(result, genre) : RoaringBitmap.or(result, genre);
+        }
+        return result == null ? new RoaringBitmap() : result;
+    }
+
+    /**
+     * Movies released in [from, to]; 0 leaves that end open. Movies without a year never match.
+     */
+    public RoaringBitmap years(int from, int to) {
+        RoaringBitmap result = null;
+        if (from > 0) {
+            int first = from / 10;
+            result = first >= byDecade.length ? new RoaringBitmap()
+                    : RoaringBitmap.or(bitmap(byDecade, first).filter(i -> years[i] >= from),
+                    bitmap(decadeOrLater, first + 1));
+        }
+        if (to > 0) {
+            int last = Math.min(to / 10, byDecade.length - 1);
+            RoaringBitmap upTo = RoaringBitmap.or(bitmap(byDecade, last).filter(i -> years[i] <= to),
+                    bitmap(decadeOrEarlier, last - 1));
+            result = result == null ? upTo : RoaringBitmap.and(result, upTo);
+        }
+        return result != null ? result : bitmap(decadeOrLater, 0);
+    }
+
+    public RoaringBitmap ratingAtLeast(double min) {
+        int first = ratingBucket(min);
+        float threshold = (float) min;
+        return RoaringBitmap.or(bitmap(byRating, first).filter(i -> ratings[i] >= threshold),
+                bitmap(ratingOrHigher, first + 1));
+    }
+
+    public RoaringBitmap votesAtLeast(int min) {
+        int first = votesBucket(min);
+        return RoaringBitmap.or(bitmap(byVotes, first).filter(i -> votes[i] >= min),
+                bitmap(votesOrMore, first + 1));
+    }
+
+    /**
+     * Movies of {@code base} per genre name, genres without any left out.
+     */
+    public Map<String, Integer> genreCounts(RoaringBitmap base) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int code = 0; code < byGenre.length; code++) {
+            if (byGenre[code] != null) {
+                putIfPositive(counts, Dictionaries.GENRES.decode(code), RoaringBitmap.andCardinality(base, byGenre[code]));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Movies of {@code base} per decade ("1990"), oldest first.
+     */
+    public Map<String, Integer> decadeCounts(RoaringBitmap base) {
+        return counts(byDecade, base, decade -> String.valueOf(decade * 10));
+    }
+
+    /**
+     * Movies of {@code base} per whole-star rating bucket ("7" is 7.0 to 7.9).
+     */
+    public Map<String, Integer> ratingCounts(RoaringBitmap base) {
+        return counts(byRating, base, String::valueOf);
+    }
+
+    /**
+     * Movies of {@code base} per votes bucket, keyed by the bucket's lower bound.
+     */
+    public Map<String, Integer> votesCounts(RoaringBitmap base) {
+        return counts(byVotes, base, bucket -> String.valueOf(VOTE_BUCKETS[bucket]));
+    }
+
+    public int bitmapCount() {
+        int count = 0;
+        for (RoaringBitmap[] facet : List.of(byGenre, byDecade, byRating, byVotes)) {
+            for (RoaringBitmap bitmap : facet) {
+                count += bitmap == null ? 0 : 1;
+            }
+        }
+        return count;
+    }
+
+    public long sizeInBytes() {
+        long bytes = all.sizeInBytes() + 12L * years.length;
+        for (RoaringBitmap[] facet : List.of(byGenre, byDecade, byRating, byVotes,
+                decadeOrLater, decadeOrEarlier, ratingOrHigher, votesOrMore)) {
+            for (RoaringBitmap bitmap : facet) {
+                bytes += bitmap == null ? 0 : bitmap.sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private static Map<String, Integer> counts(RoaringBitmap[] buckets, RoaringBitmap base,
+                                               IntFunction<String> label) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            if (buckets[bucket] != null) {
+                putIfPositive(counts, label.apply(bucket), RoaringBitmap.andCardinality(base, buckets[bucket]));
+            }
+        }
+        return counts;
+    }
+
+    private static void putIfPositive(Map<String, Integer> counts, String key, int count) {
+        if (count > 0) {
+            counts.put(key, count);
+        }
+    }
+
+    /**
+     * For each bucket, the union of it and every bucket above it (or below it, when descending).
+     */
+    private static RoaringBitmap[] cumulative(RoaringBitmap[] buckets, boolean descending) {
+        RoaringBitmap[] result = new RoaringBitmap[buckets.length];
+        RoaringBitmap running = new RoaringBitmap();
+        for (int k = 0; k < buckets.length; k++) {
+            int bucket = descending ? k : buckets.length - 1 - k;
+            if (buckets[bucket] != null) {
+                running = RoaringBitmap.or(running, buckets[bucket]);
+            }
+            result[bucket] = running;
+        }
+        return result;
+    }
+
+    private static RoaringBitmap bitmap(RoaringBitmap[] buckets, int bucket) {
+        RoaringBitmap bitmap = bucket >= 0 && bucket < buckets.length ? buckets[bucket] : null;
+        return bitmap == null ? new RoaringBitmap() : bitmap;
+    }
+
+    private static void add(RoaringBitmap[] buckets, int bucket, int ordinal) {
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new RoaringBitmap();
+        }
+        buckets[bucket].add(ordinal);
+    }
+
+    private static int ratingBucket(double rating) {
+        return Math.max(0, Math.min((int) Math.floor(rating), RATING_BUCKETS - 1));
+    }
+
+    private static int votesBucket(int votes) {
+        int bucket = 0;
+        while (bucket + 1 < VOTE_BUCKETS.length && votes >= VOTE_BUCKETS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,301 @@
+package com.yourorg.imdbloader.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Typo-tolerant word lookup in the style of SymSpell: every indexed word is stored under all
+ * strings obtained by deleting up to {@code maxDistance} characters from its first
+ * {@code prefixLength} characters. A query word generates its own deletes the same way, and any
+ * word sharing one of them is a candidate, confirmed with an exact edit distance. Lookups touch a
+ * few dozen hash buckets regardless of vocabulary size.
+ *
+ * <p>Buckets are keyed by the delete's hash code only; collisions just add candidates that fail
+ * the distance check. Words map to the sorted documents (catalog ordinals) containing them.
+ * Immutable once built; safe to share between threads.</p>
+ */
+public final class FuzzyWordIndex {
+
+    private final int maxDistance;
+    private final int prefixLength;
+    private final String[] words;
+    private final int[] wordOffsets;
+    private final int[] wordDocs;
+    private final int[] deleteKeys;
+    private final int[] deleteOffsets;
+    private final int[] deleteWords;
+
+    private FuzzyWordIndex(int maxDistance, int prefixLength, String[] words, int[] wordOffsets, int[] wordDocs,
+                           int[] deleteKeys, int[] deleteOffsets, int[] deleteWords) {
+        this.maxDistance = maxDistance;
+        this.prefixLength = prefixLength;
+        this.words = words;
+        this.wordOffsets = wordOffsets;
+        this.wordDocs = wordDocs;
+        this.deleteKeys = deleteKeys;
+        this.deleteOffsets = deleteOffsets;
+        this.deleteWords = deleteWords;
+    }
+
+    public int wordCount() {
+        return words.length;
+    }
+
+    public int deleteKeyCount() {
+        return deleteKeys.length;
+    }
+
+    /**
+     * Documents containing, for every query word, an indexed word within its allowed edit
+     * distance: none up to 3 characters, 1 up to 6, {@code maxDistance} beyond. Ranked by the
+     * summed distance, then by {@code popularity} (higher first).
+     *
+     * @return document ids and summed distances, best first
+     */
+    public int[][] search(String query, int limit, IntUnaryOperator popularity) {
+        List<String> tokens = TextFolding.tokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new int[][]{new int[0], new int[0]};
+        }
+        int[][] matches = null;
+        for (String token : tokens) {
+            int[][] tokenMatches = matchDocs(token);
+            matches = matches == null ? tokenMatches : intersect(matches, tokenMatches);
+            if (matches[0].length == 0) {
+                return matches;
+            }
+        }
+
+        TopK top = new TopK(Math.min(limit, matches[0].length));
+        for (int i = 0; i < matches[0].length; i++) {
+            int votes = Math.max(popularity.applyAsInt(matches[0][i]), 0);
+            // Popularity stays below 1 so it only orders documents at the same distance
+            top.offer(matches[0][i], -matches[1][i] + votes / (votes + 10_000f) * 0.99f);
+        }
+        int[] docs = new int[top.size()];
+        float[] scores = new float[docs.length];
+        top.drainDescending(docs, scores, 0);
+        int[] distances = new int[docs.length];
+        for (int i = 0; i < docs.length; i++) {
+            distances[i] = (int) Math.ceil(-scores[i]);
+        }
+        return new int[][]{docs, distances};
+    }
+
+    private int allowedDistance(int length) {
+        return Math.min(length <= 3 ? 0 : length <= 6 ? 1 : maxDistance, maxDistance);
+    }
+
+    /**
+     * Documents with a word close to the token and the smallest distance seen, sorted by document.
+     */
+    private int[][] matchDocs(String token) {
+        int allowed = allowedDistance(token.length());
+        Map<Integer, Integer> candidates = new HashMap<>();
+        for (String delete : deletes(token, allowed, prefixLength)) {
+            int bucket = Arrays.binarySearch(deleteKeys, delete.hashCode());
+            if (bucket < 0) {
+                continue;
+            }
+            for (int p = deleteOffsets[bucket]; p < deleteOffsets[bucket + 1]; p++) {
+                int word = deleteWords[p];
+                if (!candidates.containsKey(word)) {
+                    candidates.put(word, distance(token, words[word], allowed));
+                }
+            }
+        }
+        LongList hits = new LongList();
+        candidates.forEach((word, distance) -> {
+            if (distance <= allowed) {
+                for (int p = wordOffsets[word]; p < wordOffsets[word + 1]; p++) {
+                    hits.add((long) wordDocs[p] << 32 | distance);
+                }
+            }
+        });
+        long[] sorted = hits.sorted();
+        int[] docs = new int[sorted.length];
+        int[] distances = new int[sorted.length];
+        int n = 0;
+        for (long hit : sorted) {
+            int doc = (int) (hit >>> 32);
+            // Sorted by distance within a document, so the first entry is the closest word
+            if (n == 0 || docs[n - 1] != doc) {
+                docs[n] = doc;
+                distances[n++] = (int) hit;
+            }
+        }
+        return new int[][]{Arrays.copyOf(docs, n), Arrays.copyOf(distances, n)};
+    }
+
+    private static int[][] intersect(int[][] a, int[][] b) {
+        int max = Math.min(a[0].length, b[0].length);
+        int[] docs = new int[max];
+        int[] distances = new int[max];
+        int n = 0;
+        for (int i = 0, j = 0; i < a[0].length && j < b[0].length; ) {
+            if (a[0][i] < b[0][j]) {
+                i++;
+            } else if (a[0][i] > b[0][j]) {
+                j++;
+            } else {
+                docs[n] = a[0][i];
+                distances[n++] = a[1][i++] + b[1][j++];
+            }
+        }
+        return new int[][]{Arrays.copyOf(docs, n), Arrays.copyOf(distances, n)};
+    }
+
+    /**
+     * The word's prefix and every string made by deleting up to {@code distance} characters from it.
+     */
+    static Set<String> deletes(String word, int distance, int prefixLength) {
+        String prefix = word.length() > prefixLength ? word.substring(0, prefixLength) : word;
+        Set<String> deletes = new HashSet<>();
+        deletes.add(prefix);
+        List<String> frontier = List.of(prefix);
+        for (int d = 0; d < distance; d++) {
+            List<String> next = new ArrayList<>();
+            for (String s : frontier) {
+                for (int i = 0; i < s.length(); i++) {
+                    String delete = s.substring(0, i) + s.substring(i + 1);
+                    if (deletes.add(delete)) {
+                        next.add(delete);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return deletes;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions), or
+     * {@code max + 1} as soon as it is known to exceed {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * Growable primitive long list for (key, value) pairs packed into one long.
+     */
+    private static final class LongList {
+
+        private long[] data = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(data, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    /**
+     * Collects (document, text) pairs; the text is tokenized with {@link TextFolding}.
+     */
+    public static final class Builder {
+
+        private final int maxDistance;
+        private final int prefixLength;
+        private final Map<String, IntArrayList> postings = new HashMap<>();
+
+        public Builder(int maxDistance, int prefixLength) {
+            if (maxDistance < 0 || prefixLength <= maxDistance) {
+                throw new IllegalArgumentException("need 0 <= maxDistance < prefixLength");
+            }
+            this.maxDistance = maxDistance;
+            this.prefixLength = prefixLength;
+        }
+
+        public void add(int doc, String text) {
+            for (String token : TextFolding.tokens(text)) {
+                IntArrayList docs = postings.computeIfAbsent(token, t -> new IntArrayList(2));
+                if (docs.isEmpty() || docs.get(docs.size() - 1) != doc) {
+                    docs.add(doc);
+                }
+            }
+        }
+
+        public FuzzyWordIndex build() {
+            String[] words = postings.keySet().toArray(new String[0]);
+            int[] wordOffsets = new int[words.length + 1];
+            IntArrayList wordDocs = new IntArrayList(words.length * 2);
+            LongList pairs = new LongList();
+            for (int w = 0; w < words.length; w++) {
+                IntArrayList docs = postings.get(words[w]);
+                docs.sortAndDedup();
+                wordOffsets[w] = wordDocs.size();
+                for (int i = 0; i < docs.size(); i++) {
+                    wordDocs.add(docs.get(i));
+                }
+                for (String delete : deletes(words[w], maxDistance, prefixLength)) {
+                    pairs.add((long) delete.hashCode() << 32 | w);
+                }
+            }
+            wordOffsets[words.length] = wordDocs.size();
+
+            long[] sorted = pairs.sorted();
+            IntArrayList keys = new IntArrayList();
+            IntArrayList offsets = new IntArrayList();
+            int[] deleteWords = new int[sorted.length];
+            int n = 0;
+            for (long pair : sorted) {
+                int key = (int) (pair >> 32);
+                int word = (int) pair;
+                if (keys.isEmpty() || keys.get(keys.size() - 1) != key) {
+                    keys.add(key);
+                    offsets.add(n);
+                } else if (deleteWords[n - 1] == word) {
+                    continue; // two deletes of one word with the same hash
+                }
+                deleteWords[n++] = word;
+            }
+            offsets.add(n);
+            return new FuzzyWordIndex(maxDistance, prefixLength, words, wordOffsets, wordDocs.toArray(),
+                    keys.toArray(), offsets.toArray(), Arrays.copyOf(deleteWords, n));
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package com.yourorg.imdbloader.index;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Pure-Java Hierarchical Navigable Small World graph for approximate nearest-neighbour search
+ * over L2-normalised vectors (similarity = dot product).
+ *
+ * <p>Nodes are dense ordinals 0..n-1 and must be added in order. Building is single-threaded;
+ * once built the index is read-only and safe for concurrent searches.</p>
+ */
+public final class HnswIndex {
+
+    private static final int MAGIC = 0x484E5357; // "HNSW"
+    private static final int FORMAT_VERSION = 2;
+    // Idle visited sets kept for reuse; searches beyond this allocate and drop their own
+    private static final int MAX_POOLED_VISITED = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final int dimension;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private float[][] vectors;
+    private int[][][] links;
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    // Pooled rather than thread-local: request threads are virtual and rarely search twice
+    private final Queue<Visited> visitedPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledVisited = new AtomicInteger();
+
+    public HnswIndex(int dimension, int capacity, int m, int efConstruction) {
+        this.dimension = dimension;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.vectors = new float[capacity][];
+        this.links = new int[capacity][][];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public float[] vector(int node) {
+        return vectors[node];
+    }
+
+    public void add(float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected dimension " + dimension + " but got " + vector.length);
+        }
+        int node = size;
+        if (node == vectors.length) {
+            int newCapacity = Math.max(16, vectors.length * 2);
+            vectors = Arrays.copyOf(vectors, newCapacity);
+            links = Arrays.copyOf(links, newCapacity);
+        }
+        int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+        vectors[node] = vector;
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[0];
+        }
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int ep = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            ep = greedyClosest(vector, ep, l);
+        }
+        List<Candidate> entry = List.of(new Candidate(ep, similarity(vector, vectors[ep])));
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> found = searchLayer(vector, entry, efConstruction, l);
+            int[] selected = selectNeighbours(found, m);
+            links[node][l] = selected;
+            int maxLinks = l == 0 ? maxM0 : m;
+            for (int neighbour : selected) {
+                connect(neighbour, node, l, maxLinks);
+            }
+            entry = found;
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * Approximate top-k by similarity.
+     *
+     * @param ef size of the dynamic candidate list; higher is slower but more accurate
+     */
+    public Result search(float[] query, int k, int ef) {
+        if (entryPoint < 0) {
+            return new Result(new int[0], new float[0]);
+        }
+        int ep = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            ep = greedyClosest(query, ep, l);
+        }
+        List<Candidate> found = searchLayer(query,
+                List.of(new Candidate(ep, similarity(query, vectors[ep]))), Math.max(ef, k), 0);
+        int n = Math.min(k, found.size());
+        int[] ids = new int[n];
+        float[] scores = new float[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = found.get(i).id;
+            scores[i] = found.get(i).similarity;
+        }
+        return new Result(ids, scores);
+    }
+
+    /**
+     * Exact brute-force top-k, used as ground truth when measuring recall.
+     */
+    public Result exactSearch(float[] query, int k) {
+        TopK top = new TopK(k);
+        for (int i = 0; i < size; i++) {
+            top.offer(i, similarity(query, vectors[i]));
+        }
+        int[] ids = new int[top.size()];
+        float[] scores = new float[ids.length];
+        top.drainDescending(ids, scores, 0);
+        return new Result(ids, scores);
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float best = similarity(query, vectors[current]);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbour : links[current][level]) {
+                float s = similarity(query, vectors[neighbour]);
+                if (s > best) {
+                    best = s;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on one layer. Returns up to {@code ef} candidates ordered by descending similarity.
+     */
+    private List<Candidate> searchLayer(float[] query, List<Candidate> entry, int ef, int level) {
+        Visited seen = acquireVisited();
+        try {
+            return searchLayer(query, entry, ef, level, seen);
+        } finally {
+            releaseVisited(seen);
+        }
+    }
+
+    private List<Candidate> searchLayer(float[] query, List<Candidate> entry, int ef, int level, Visited seen) {
+        seen.reset(size);
+        CandidateQueue candidates = new CandidateQueue(ef * 2);
+        TopK results = new TopK(ef);
+        for (Candidate c : entry) {
+            if (seen.mark(c.id)) {
+                candidates.push(c.id, c.similarity);
+                results.offer(c.id, c.similarity);
+            }
+        }
+
+        while (!candidates.isEmpty()) {
+            float currentSimilarity = candidates.peekScore();
+            int current = candidates.pop();
+            if (results.size() >= ef && currentSimilarity < results.threshold()) {
+                break;
+            }
+            if (links[current].length <= level) {
+                continue;
+            }
+            for (int neighbour : links[current][level]) {
+                if (!seen.mark(neighbour)) {
+                    continue;
+                }
+                float s = similarity(query, vectors[neighbour]);
+                if (results.size() < ef || s > results.threshold()) {
+                    candidates.push(neighbour, s);
+                    results.offer(neighbour, s);
+                }
+            }
+        }
+
+        int[] ids = new int[results.size()];
+        float[] scores = new float[ids.length];
+        results.drainDescending(ids, scores, 0);
+        List<Candidate> ordered = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            ordered.add(new Candidate(ids[i], scores[i]));
+        }
+        return ordered;
+    }
+
+    private Visited acquireVisited() {
+        Visited seen = visitedPool.poll();
+        if (seen == null) {
+            return new Visited();
+        }
+        pooledVisited.decrementAndGet();
+        return seen;
+    }
+
+    private void releaseVisited(Visited seen) {
+        if (pooledVisited.incrementAndGet() <= MAX_POOLED_VISITED) {
+            visitedPool.offer(seen);
+        } else {
+            pooledVisited.decrementAndGet();
+        }
+    }
+
+    /**
+     * Neighbour selection heuristic from the HNSW paper: prefer candidates that are closer to the
+     * query than to any already selected neighbour, then back-fill with the pruned ones.
+     */
+    private int[] selectNeighbours(List<Candidate> ordered, int max) {
+        IntArrayList selected = new IntArrayList(max);
+        IntArrayList pruned = new IntArrayList();
+        for (Candidate c : ordered) {
+            if (selected.size() >= max) {
+                break;
+            }
+            boolean keep = true;
+            for (int i = 0; i < selected.size(); i++) {
+                if (similarity(vectors[c.id], vectors[selected.get(i)]) > c.similarity) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected.add(c.id);
+            } else {
+                pruned.add(c.id);
+            }
+        }
+        for (int i = 0; i < pruned.size() && selected.size() < max; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected.toArray();
+    }
+
+    /**
+     * Adds a back-link. When the neighbour list is full the weakest link is dropped; re-running the
+     * diversity heuristic here dominated build time for little recall gain.
+     */
+    private void connect(int from, int to, int level, int maxLinks) {
+        int[] existing = links[from][level];
+        if (existing.length < maxLinks) {
+            int[] grown = Arrays.copyOf(existing, existing.length + 1);
+            grown[existing.length] = to;
+            links[from][level] = grown;
+            return;
+        }
+        float[] base = vectors[from];
+        int weakest = -1;
+        float weakestSimilarity = similarity(base, vectors[to]);
+        for (int i = 0; i < existing.length; i++) {
+            float s = similarity(base, vectors[existing[i]]);
+            if (s < weakestSimilarity) {
+                weakestSimilarity = s;
+                weakest = i;
+            }
+        }
+        if (weakest >= 0) {
+            int[] replaced = existing.clone();
+            replaced[weakest] = to;
+            links[from][level] = replaced;
+        }
+    }
+
+    private static float similarity(float[] a, float[] b) {
+        return MovieFeatureEncoder.dot(a, b);
+    }
+
+    // ---------------- SNAPSHOT ----------------
+
+    /**
+     * Writes the graph and vectors followed by a CRC32 of both. The fingerprint identifies the
+     * catalog the index was built from.
+     */
+    public void writeTo(DataOutputStream target, long fingerprint) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(target, crc));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(fingerprint);
+        out.writeInt(dimension);
+        out.writeInt(m);
+        out.writeInt(efConstruction);
+        out.writeInt(size);
+        out.writeInt(entryPoint);
+        out.writeInt(maxLevel);
+        for (int i = 0; i < size; i++) {
+            for (float x : vectors[i]) {
+                out.writeFloat(x);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeByte(links[i].length);
+            for (int[] level : links[i]) {
+                out.writeShort(level.length);
+                for (int id : level) {
+                    out.writeInt(id);
+                }
+            }
+        }
+        out.flush();
+        target.writeLong(crc.getValue());
+    }
+
+    /**
+     * Reads a snapshot, returning null when it was built from a different catalog or format.
+     * A truncated or corrupt file fails with an {@link IOException}.
+     */
+    public static HnswIndex readFrom(DataInputStream source, long expectedFingerprint) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream in = new DataInputStream(new CheckedInputStream(source, crc));
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != expectedFingerprint) {
+            return null;
+        }
+        int dimension = in.readInt();
+        int m = in.readInt();
+        int efConstruction = in.readInt();
+        int count = in.readInt();
+        int entryPoint = in.readInt();
+        int maxLevel = in.readInt();
+        if (dimension <= 0 || m < 2 || count < 0 || entryPoint < -1 || entryPoint >= count
+                || (count > 0) != (entryPoint >= 0) || maxLevel < -1 || maxLevel > 254) {
+            throw new IOException("corrupt HNSW snapshot header");
+        }
+        HnswIndex index = new HnswIndex(dimension, count, m, efConstruction);
+        index.entryPoint = entryPoint;
+        index.maxLevel = maxLevel;
+        for (int i = 0; i < count; i++) {
+            float[] v = new float[dimension];
+            for (int d = 0; d < dimension; d++) {
+                v[d] = in.readFloat();
+            }
+            index.vectors[i] = v;
+        }
+        for (int i = 0; i < count; i++) {
+            int levels = in.readUnsignedByte();
+            if (levels == 0 || levels > maxLevel + 1) {
+                throw new IOException("corrupt HNSW snapshot: node " + i + " has " + levels + " levels");
+            }
+            index.links[i] = new int[levels][];
+            for (int l = 0; l < levels; l++) {
+                int[] neighbours = new int[in.readUnsignedShort()];
+                for (int n = 0; n < neighbours.length; n++) {
+                    int id = in.readInt();
+                    if (id < 0 || id >= count) {
+                        throw new IOException("corrupt HNSW snapshot: node " + i + " links to " + id);
+                    }
+                    neighbours[n] = id;
+                }
+                index.links[i][l] = neighbours;
+            }
+        }
+        if (count > 0 && index.links[entryPoint].length != maxLevel + 1) {
+            throw new IOException("corrupt HNSW snapshot: entry point is not on the top level");
+        }
+        long expectedCrc = crc.getValue();
+        if (source.readLong() != expectedCrc) {
+            throw new IOException("HNSW snapshot failed its checksum");
+        }
+        index.size = count;
+        return index;
+    }
+
+    public record Result(int[] ids, float[] scores) {
+    }
+
+    private record Candidate(int id, float similarity) {
+    }
+
+    /**
+     * Unbounded primitive max-heap of (id, similarity), avoiding boxed priority queue entries.
+     */
+    private static final class CandidateQueue {
+        private int[] ids;
+        private float[] scores;
+        private int size;
+
+        CandidateQueue(int initialCapacity) {
+            ids = new int[Math.max(initialCapacity, 4)];
+            scores = new float[ids.length];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        float peekScore() {
+            return scores[0];
+        }
+
+        void push(int id, float score) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] >= score) {
+                    break;
+                }
+                ids[i] = ids[parent];
+                scores[i] = scores[parent];
+                i = parent;
+            }
+            ids[i] = id;
+            scores[i] = score;
+        }
+
+        int pop() {
+            int top = ids[0];
+            size--;
+            int id = ids[size];
+            float score = scores[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && scores[child + 1] > scores[child]) {
+                    child++;
+                }
+                if (score >= scores[child]) {
+                    break;
+                }
+                ids[i] = ids[child];
+                scores[i] = scores[child];
+                i = child;
+            }
+            ids[i] = id;
+            scores[i] = score;
+            return top;
+        }
+    }
+
+    /**
+     * Generation-stamped visited set so searches do not clear an n-sized array each time.
+     */
+    private static final class Visited {
+        private int[] marks = new int[0];
+        private int generation;
+
+        void reset(int capacity) {
+            if (marks.length < capacity) {
+                marks = new int[Math.max(capacity, marks.length * 2)];
+                generation = 0;
+            }
+            generation++;
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        boolean mark(int id) {
+            if (marks[id] == generation) {
+                return false;
+            }
+            marks[id] = generation;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.yourorg.imdbloader.index;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive int list used while building CSR arrays.
+ * Avoids boxing millions of Integer instances during index builds.
+ */
+public final class IntArrayList {
+
+    private int[] data;
+    private int size;
+
+    public IntArrayList() {
+        this(16);
+    }
+
+    public IntArrayList(int initialCapacity) {
+        this.data = new int[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, data.length + (data.length >> 1) + 1);
+        }
+        data[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return data[index];
+    }
+
+    public void set(int index, int value) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        data[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sorts the list in place and removes duplicate values.
+     */
+    public void sortAndDedup() {
+        if (size < 2) {
+            return;
+        }
+        Arrays.sort(data, 0, size);
+        int out = 1;
+        for (int i = 1; i < size; i++) {
+            if (data[i] != data[out - 1]) {
+                data[out++] = data[i];
+            }
+        }
+        size = out;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
@@ -0,0 +1,78 @@
+package com.yourorg.imdbloader.index;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable sparse item-item similarity matrix in CSR form.
+ * Row {@code i} holds the top-N neighbours of item {@code i}, ordered by descending similarity.
+ */
+public final class ItemSimilarityMatrix {
+
+    public static final ItemSimilarityMatrix EMPTY =
+            new ItemSimilarityMatrix(new String[0], new int[] {0}, new int[0], new float[0]);
+
+    private final String[] itemIds;
+    private final Map<String, Integer> itemIndex;
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final float[] scores;
+
+    public ItemSimilarityMatrix(String[] itemIds, int[] offsets, int[] neighbours, float[] scores) {
+        if (offsets.length != itemIds.length + 1 || neighbours.length != scores.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        }
+        this.itemIds = itemIds;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.scores = scores;
+        this.itemIndex = new HashMap<>(itemIds.length * 2);
+        for (int i = 0; i < itemIds.length; i++) {
+            itemIndex.put(itemIds[i], i);
+        }
+    }
+
+    public int itemCount() {
+        return itemIds.length;
+    }
+
+    public int edgeCount() {
+        return neighbours.length;
+    }
+
+    public int indexOf(String itemId) {
+        Integer idx = itemIndex.get(itemId);
+        return idx == null ? -1 : idx;
+    }
+
+    public String itemId(int index) {
+        return itemIds[index];
+    }
+
+    /**
+     * Sums neighbour similarities over all liked items. Liked items themselves are excluded.
+     *
+     * @return map of candidate item id to accumulated similarity
+     */
+    public Map<String, Double> scoreNeighbours(Collection<String> likedItemIds) {
+        Map<Integer, Double> acc = new HashMap<>();
+        for (String liked : likedItemIds) {
+            int row = indexOf(liked);
+            if (row < 0) {
+                continue;
+            }
+            for (int p = offsets[row]; p < offsets[row + 1]; p++) {
+                acc.merge(neighbours[p], (double) scores[p], Double::sum);
+            }
+        }
+        Map<String, Double> result = new HashMap<>(acc.size() * 2);
+        for (Map.Entry<Integer, Double> e : acc.entrySet()) {
+            String id = itemIds[e.getKey()];
+            if (!likedItemIds.contains(id)) {
+                result.put(id, e.getValue());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,173 @@
+package com.yourorg.imdbloader.index;
+
+import com.yourorg.imdbloader.model.Dictionaries;
+import com.yourorg.imdbloader.model.Genres;
+import com.yourorg.imdbloader.model.Movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns movies into dense, L2-normalised feature vectors so cosine similarity is a dot product.
+ *
+ * <p>Layout: genre one-hot | era | log votes | rating | hashed cast | hashed plot TF-IDF.
+ * Cast and plot use the hashing trick with a sign bit, so the dimension is fixed
+ * regardless of how many actors or plot terms the catalog contains.</p>
+ */
+public final class MovieFeatureEncoder {
+
+    public static final int CAST_BUCKETS = 64;
+    public static final int PLOT_BUCKETS = 128;
+
+    private static final float GENRE_WEIGHT = 1.0f;
+    private static final float ERA_WEIGHT = 0.5f;
+    private static final float VOTES_WEIGHT = 0.3f;
+    private static final float RATING_WEIGHT = 0.5f;
+    private static final float CAST_WEIGHT = 0.8f;
+    private static final float PLOT_WEIGHT = 0.6f;
+
+    // Vector slot per genre code, -1 for genres not seen when fitting
+    private final int[] genreSlots;
+    private final int genreCount;
+    private final float[] plotIdf;
+    private final double maxLogVotes;
+    private final int dimension;
+
+    private MovieFeatureEncoder(int[] genreSlots, int genreCount, float[] plotIdf, double maxLogVotes) {
+        this.genreSlots = genreSlots;
+        this.genreCount = genreCount;
+        this.plotIdf = plotIdf;
+        this.maxLogVotes = maxLogVotes;
+        this.dimension = genreCount + 3 + CAST_BUCKETS + PLOT_BUCKETS;
+    }
+
+    /**
+     * Fits the genre vocabulary, vote scale and plot IDF on the catalog.
+     */
+    public static MovieFeatureEncoder fit(List<Movie> movies) {
+        long genreMask = 0;
+        int[] documentFrequency = new int[PLOT_BUCKETS];
+        double maxLogVotes = 1.0;
+        for (Movie movie : movies) {
+            genreMask |= movie.getGenreMask();
+            maxLogVotes = Math.max(maxLogVotes, Math.log1p(movie.getVotes()));
+            boolean[] seen = new boolean[PLOT_BUCKETS];
+            for (String term : tokenize(movie.getPlot())) {
+                int bucket = bucket(term, PLOT_BUCKETS);
+                if (!seen[bucket]) {
+                    seen[bucket] = true;
+                    documentFrequency[bucket]++;
+                }
+            }
+        }
+        // Slots in alphabetical genre order, independent of dictionary code assignment order
+        int[] genreSlots = new int[Long.SIZE];
+        Arrays.fill(genreSlots, -1);
+        List<String> genres = Genres.names(genreMask);
+        for (int slot = 0; slot < genres.size(); slot++) {
+            genreSlots[Dictionaries.GENRES.codeOf(genres.get(slot))] = slot;
+        }
+        float[] idf = new float[PLOT_BUCKETS];
+        for (int b = 0; b < PLOT_BUCKETS; b++) {
+            idf[b] = (float) Math.log((1.0 + movies.size()) / (1.0 + documentFrequency[b])) + 1f;
+        }
+        return new MovieFeatureEncoder(genreSlots, genres.size(), idf, maxLogVotes);
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public float[] encode(Movie movie) {
+        float[] v = new float[dimension];
+        int offset = 0;
+
+        for (long bits = movie.getGenreMask(); bits != 0; bits &= bits - 1) {
+            int slot = genreSlots[Long.numberOfTrailingZeros(bits)];
+            if (slot >= 0) {
+                v[slot] = GENRE_WEIGHT;
+            }
+        }
+        offset += genreCount;
+
+        v[offset++] = movie.getYear() > 0
+                ? ERA_WEIGHT * (float) Math.min(Math.max((movie.getYear() - 1900) / 130.0, 0.0), 1.0)
+                : 0f;
+        v[offset++] = VOTES_WEIGHT * (float) (Math.log1p(movie.getVotes()) / maxLogVotes);
+        v[offset++] = RATING_WEIGHT * (float) (movie.getRating() / 10.0);
+
+        for (int a = 0; a < movie.actorCount(); a++) {
+            int h = movie.actor(a).hashCode();
+            v[offset + Math.floorMod(h, CAST_BUCKETS)] += (h & 0x40000000) == 0 ? CAST_WEIGHT : -CAST_WEIGHT;
+        }
+        offset += CAST_BUCKETS;
+
+        List<String> terms = tokenize(movie.getPlot());
+        if (!terms.isEmpty()) {
+            float tf = 1f / terms.size();
+            for (String term : terms) {
+                int h = term.hashCode();
+                int b = Math.floorMod(h, PLOT_BUCKETS);
+                float w = PLOT_WEIGHT * tf * plotIdf[b];
+                v[offset + b] += (h & 0x40000000) == 0 ? w : -w;
+            }
+        }
+
+        normalize(v);
+        return v;
+    }
+
+    /**
+     * Mean of the given vectors, re-normalised. Used as a user's aggregated taste vector.
+     */
+    public static float[] centroid(List<float[]> vectors, int dimension) {
+        float[] c = new float[dimension];
+        for (float[] v : vectors) {
+            for (int i = 0; i < dimension; i++) {
+                c[i] += v[i];
+            }
+        }
+        normalize(c);
+        return c;
+    }
+
+    public static float dot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static void normalize(float[] v) {
+        double norm = 0;
+        for (float x : v) {
+            norm += x * x;
+        }
+        if (norm > 0) {
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < v.length; i++) {
+                v[i] *= inv;
+            }
+        }
+    }
+
+    private static int bucket(String term, int buckets) {
+        return Math.floorMod(term.hashCode(), buckets);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (token.length() > 2) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,420 @@
+package com.yourorg.imdbloader.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Compressed set of non-negative ints in the Roaring layout: values are grouped by their high 16
+ * bits, and each group of low 16 bits is a sorted {@code char[]} while it holds at most
+ * {@value #ARRAY_MAX} values, a 65536-bit bitmap beyond that. Sparse sets cost 2 bytes per value,
+ * dense ones 1 bit, and AND/OR work container by container.
+ *
+ * <p>Build with {@link #add(int)} in ascending order; {@link #and}, {@link #or} and
+ * {@link #andCardinality} never modify their arguments, so built bitmaps can be shared between
+ * threads.</p>
+ */
+public final class RoaringBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1 << 10;
+
+    private char[] keys;
+    private Object[] containers; // char[] (array) or long[] (bitmap)
+    private int[] cardinalities;
+    private int size;
+
+    public RoaringBitmap() {
+        this(4);
+    }
+
+    private RoaringBitmap(int capacity) {
+        keys = new char[Math.max(capacity, 1)];
+        containers = new Object[keys.length];
+        cardinalities = new int[keys.length];
+    }
+
+    /**
+     * All values in [0, end).
+     */
+    public static RoaringBitmap range(int end) {
+        RoaringBitmap bitmap = new RoaringBitmap((end >>> 16) + 1);
+        for (int high = 0; high << 16 < end; high++) {
+            int count = Math.min(end - (high << 16), 1 << 16);
+            long[] words = new long[WORDS];
+            Arrays.fill(words, 0, count >>> 6, -1L);
+            if ((count & 63) != 0) {
+                words[count >>> 6] = (1L << count) - 1;
+            }
+            bitmap.append((char) high, count > ARRAY_MAX ? words : toArray(words, count), count);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds a value no smaller than any value already present.
+     */
+    public void add(int value) {
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        if (size == 0 || keys[size - 1] != high) {
+            if (size > 0 && keys[size - 1] > high) {
+                throw new IllegalArgumentException("values must be added in ascending order");
+            }
+            append(high, new char[4], 0);
+        }
+        int c = size - 1;
+        int n = cardinalities[c];
+        if (containers[c] instanceof char[] array) {
+            if (n > 0 && array[n - 1] >= low) {
+                if (array[n - 1] == low) {
+                    return;
+                }
+                throw new IllegalArgumentException("values must be added in ascending order");
+            }
+            if (n == ARRAY_MAX) {
+                long[] words = toWords(array, n);
+                words[low >>> 6] |= 1L << low;
+                containers[c] = words;
+            } else {
+                if (n == array.length) {
+                    array = Arrays.copyOf(array, Math.min(n * 2, ARRAY_MAX));
+                    containers[c] = array;
+                }
+                array[n] = low;
+            }
+        } else {
+            long[] words = (long[]) containers[c];
+            if ((words[low >>> 6] & (1L << low)) != 0) {
+                return;
+            }
+            words[low >>> 6] |= 1L << low;
+        }
+        cardinalities[c] = n + 1;
+    }
+
+    public boolean contains(int value) {
+        int c = indexOf((char) (value >>> 16));
+        if (c < 0) {
+            return false;
+        }
+        char low = (char) value;
+        if (containers[c] instanceof char[] array) {
+            return Arrays.binarySearch(array, 0, cardinalities[c], low) >= 0;
+        }
+        return (((long[]) containers[c])[low >>> 6] & (1L << low)) != 0;
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int c = 0; c < size; c++) {
+            total += cardinalities[c];
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Calls the consumer with every value in ascending order.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int c = 0; c < size; c++) {
+            int base = keys[c] << 16;
+            if (containers[c] instanceof char[] array) {
+                for (int i = 0; i < cardinalities[c]; i++) {
+                    consumer.accept(base | array[i]);
+                }
+            } else {
+                long[] words = (long[]) containers[c];
+                for (int w = 0; w < WORDS; w++) {
+                    for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                        consumer.accept(base | (w << 6) | Long.numberOfTrailingZeros(bits));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The values the predicate keeps, built container by container rather than value by value.
+     */
+    public RoaringBitmap filter(IntPredicate keep) {
+        RoaringBitmap result = new RoaringBitmap(size);
+        for (int c = 0; c < size; c++) {
+            int base = keys[c] << 16;
+            int n = 0;
+            if (containers[c] instanceof char[] array) {
+                char[] out = new char[cardinalities[c]];
+                for (int i = 0; i < cardinalities[c]; i++) {
+                    if (keep.test(base | array[i])) {
+                        out[n++] = array[i];
+                    }
+                }
+                result.appendIfNotEmpty(keys[c], out, n);
+            } else {
+                long[] words = ((long[]) containers[c]).clone();
+                for (int w = 0; w < WORDS; w++) {
+                    for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                        long bit = bits & -bits;
+                        if (!keep.test(base | (w << 6) | Long.numberOfTrailingZeros(bit))) {
+                            words[w] &= ~bit;
+                        }
+                    }
+                    n += Long.bitCount(words[w]);
+                }
+                result.appendIfNotEmpty(keys[c], n > ARRAY_MAX ? words : toArray(words, n), n);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bytes held by the containers, for size reporting.
+     */
+    public long sizeInBytes() {
+        long bytes = 10L * keys.length;
+        for (int c = 0; c < size; c++) {
+            bytes += containers[c] instanceof char[] array ? 2L * array.length : 8L * WORDS;
+        }
+        return bytes;
+    }
+
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap(Math.min(a.size, b.size));
+        for (int i = 0, j = 0; i < a.size && j < b.size; ) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Object x = a.containers[i];
+                Object y = b.containers[j];
+                int nx = a.cardinalities[i];
+                int ny = b.cardinalities[j];
+                if (x instanceof char[] ax && y instanceof char[] ay) {
+                    char[] out = new char[Math.min(nx, ny)];
+                    int n = intersect(ax, nx, ay, ny, out);
+                    result.appendIfNotEmpty(a.keys[i], out, n);
+                } else if (x instanceof char[] ax) {
+                    result.appendFiltered(a.keys[i], ax, nx, (long[]) y);
+                } else if (y instanceof char[] ay) {
+                    result.appendFiltered(a.keys[i], ay, ny, (long[]) x);
+                } else {
+                    long[] wx = (long[]) x;
+                    long[] wy = (long[]) y;
+                    long[] words = new long[WORDS];
+                    int n = 0;
+                    for (int w = 0; w < WORDS; w++) {
+                        words[w] = wx[w] & wy[w];
+                        n += Long.bitCount(words[w]);
+                    }
+                    result.appendIfNotEmpty(a.keys[i], n > ARRAY_MAX ? words : toArray(words, n), n);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap(a.size + b.size);
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], copy(a.containers[i]), a.cardinalities[i]);
+                i++;
+            } else if (i >= a.size || b.keys[j] < a.keys[i]) {
+                result.append(b.keys[j], copy(b.containers[j]), b.cardinalities[j]);
+                j++;
+            } else {
+                Object x = a.containers[i];
+                Object y = b.containers[j];
+                int nx = a.cardinalities[i];
+                int ny = b.cardinalities[j];
+                if (x instanceof char[] ax && y instanceof char[] ay && nx + ny <= ARRAY_MAX) {
+                    char[] out = new char[nx + ny];
+                    int n = union(ax, nx, ay, ny, out);
+                    result.append(a.keys[i], out, n);
+                } else {
+                    long[] words = x instanceof char[] ax ? toWords(ax, nx) : ((long[]) x).clone();
+                    if (y instanceof char[] ay) {
+                        for (int k = 0; k < ny; k++) {
+                            words[ay[k] >>> 6] |= 1L << ay[k];
+                        }
+                    } else {
+                        long[] wy = (long[]) y;
+                        for (int w = 0; w < WORDS; w++) {
+                            words[w] |= wy[w];
+                        }
+                    }
+                    int n = 0;
+                    for (long word : words) {
+                        n += Long.bitCount(word);
+                    }
+                    result.append(a.keys[i], n > ARRAY_MAX ? words : toArray(words, n), n);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Size of the intersection, without building it.
+     */
+    public static int andCardinality(RoaringBitmap a, RoaringBitmap b) {
+        int total = 0;
+        for (int i = 0, j = 0; i < a.size && j < b.size; ) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Object x = a.containers[i];
+                Object y = b.containers[j];
+                if (x instanceof char[] ax && y instanceof char[] ay) {
+                    total += intersect(ax, a.cardinalities[i], ay, b.cardinalities[j], null);
+                } else if (x instanceof char[] ax) {
+                    total += countIn(ax, a.cardinalities[i], (long[]) y);
+                } else if (y instanceof char[] ay) {
+                    total += countIn(ay, b.cardinalities[j], (long[]) x);
+                } else {
+                    long[] wx = (long[]) x;
+                    long[] wy = (long[]) y;
+                    for (int w = 0; w < WORDS; w++) {
+                        total += Long.bitCount(wx[w] & wy[w]);
+                    }
+                }
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    private int indexOf(char high) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < high) {
+                lo = mid + 1;
+            } else if (keys[mid] > high) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private void append(char high, Object container, int cardinality) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+            cardinalities = Arrays.copyOf(cardinalities, size * 2);
+        }
+        keys[size] = high;
+        containers[size] = container;
+        cardinalities[size++] = cardinality;
+    }
+
+    private void appendIfNotEmpty(char high, Object container, int cardinality) {
+        if (cardinality > 0) {
+            append(high, container, cardinality);
+        }
+    }
+
+    private void appendFiltered(char high, char[] array, int n, long[] words) {
+        char[] out = new char[n];
+        int count = 0;
+        for (int k = 0; k < n; k++) {
+            if ((words[array[k] >>> 6] & (1L << array[k])) != 0) {
+                out[count++] = array[k];
+            }
+        }
+        appendIfNotEmpty(high, out, count);
+    }
+
+    private static int countIn(char[] array, int n, long[] words) {
+        int count = 0;
+        for (int k = 0; k < n; k++) {
+            if ((words[array[k] >>> 6] & (1L << array[k])) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Writes the intersection to out when it is not null; returns its size either way
+    private static int intersect(char[] a, int na, char[] b, int nb, char[] out) {
+        int n = 0;
+        for (int i = 0, j = 0; i < na && j < nb; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                if (out != null) {
+                    out[n] = a[i];
+                }
+                n++;
+                i++;
+                j++;
+            }
+        }
+        return n;
+    }
+
+    private static int union(char[] a, int na, char[] b, int nb, char[] out) {
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < na && j < nb) {
+            if (a[i] < b[j]) {
+                out[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i++];
+                j++;
+            }
+        }
+        while (i < na) {
+            out[n++] = a[i++];
+        }
+        while (j < nb) {
+            out[n++] = b[j++];
+        }
+        return n;
+    }
+
+    private static long[] toWords(char[] array, int n) {
+        long[] words = new long[WORDS];
+        for (int k = 0; k < n; k++) {
+            words[array[k] >>> 6] |= 1L << array[k];
+        }
+        return words;
+    }
+
+    private static char[] toArray(long[] words, int n) {
+        char[] array = new char[n];
+        int k = 0;
+        for (int w = 0; w < WORDS && k < n; w++) {
+            for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                array[k++] = (char) ((w << 6) | Long.numberOfTrailingZeros(bits));
+            }
+        }
+        return array;
+    }
+
+    private static Object copy(Object container) {
+        return container instanceof char[] array ? array.clone() : ((long[]) container).clone();
+    }
+}
@@ -0,0 +1,94 @@
+package com.yourorg.imdbloader.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search normalization shared by index builders and queries: NFKD, combining marks removed,
+ * lower case, and the few Latin letters that do not decompose spelled out (ß → ss, ø → o, ...).
+ * Text splits into tokens at anything that is not a letter or digit; runs of Han, kana and
+ * Hangul, which are written without spaces, become overlapping character bigrams.
+ */
+public final class TextFolding {
+
+    private TextFolding() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); ) {
+            int cp = decomposed.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.getType(cp) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (cp) {
+                case 'ß' -> out.append("ss");
+                case 'æ', 'Æ' -> out.append("ae");
+                case 'œ', 'Œ' -> out.append("oe");
+                case 'ø', 'Ø' -> out.append('o');
+                case 'ł', 'Ł' -> out.append('l');
+                case 'đ', 'Đ', 'ð', 'Ð' -> out.append('d');
+                case 'þ', 'Þ' -> out.append("th");
+                case 'ı' -> out.append('i');
+                default -> out.appendCodePoint(cp);
+            }
+        }
+        // Recompose what is left, so Hangul syllables are not searched as loose jamo
+        return Normalizer.normalize(out, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokens(String text) {
+        String folded = fold(text);
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < folded.length()) {
+            int cp = folded.codePointAt(i);
+            if (!Character.isLetterOrDigit(cp)) {
+                i += Character.charCount(cp);
+                continue;
+            }
+            int start = i;
+            boolean cjk = isCjk(cp);
+            while (i < folded.length()) {
+                int c = folded.codePointAt(i);
+                if (!Character.isLetterOrDigit(c) || isCjk(c) != cjk) {
+                    break;
+                }
+                i += Character.charCount(c);
+            }
+            if (cjk) {
+                addBigrams(folded.substring(start, i), tokens);
+            } else {
+                tokens.add(folded.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+
+    private static void addBigrams(String run, List<String> tokens) {
+        int[] cps = run.codePoints().toArray();
+        if (cps.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int c = 0; c + 1 < cps.length; c++) {
+            tokens.add(new String(cps, c, 2));
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        if (cp == 0x30FC) {
+            return true; // katakana long vowel mark
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+    }
+}
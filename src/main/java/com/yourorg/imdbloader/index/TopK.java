@@ -0,0 +1,106 @@
+package com.yourorg.imdbloader.index;
+
+/**
+ * Bounded min-heap that keeps the K highest scoring int ids.
+ * Instances are reusable via {@link #clear()} so builders can keep one per thread.
+ */
+public final class TopK {
+
+    private final int capacity;
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+
+    public TopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.ids = new int[capacity];
+        this.scores = new float[capacity];
+    }
+
+    public void offer(int id, float score) {
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Lowest score currently retained, or negative infinity while the heap is not full.
+     */
+    public float threshold() {
+        return size < capacity ? Float.NEGATIVE_INFINITY : scores[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Drains the heap into the given arrays ordered by descending score.
+     *
+     * @return number of entries written
+     */
+    public int drainDescending(int[] outIds, float[] outScores, int outOffset) {
+        int n = size;
+        for (int i = n - 1; i >= 0; i--) {
+            outIds[outOffset + i] = ids[0];
+            outScores[outOffset + i] = scores[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return n;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[i] >= scores[parent]) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && scores[right] < scores[left]) {
+                smallest = right;
+            }
+            if (scores[i] <= scores[smallest]) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float s = scores[a];
+        scores[a] = scores[b];
+        scores[b] = s;
+    }
+}
@@ -0,0 +1,18 @@
+package com.yourorg.imdbloader.model;
+
+/**
+ * Process-wide dictionaries for the IMDb columns with a few hundred distinct values at most.
+ * Genres are limited to 64 so a movie's genres fit in one {@code long} bitmask (see {@link Genres}).
+ */
+public final class Dictionaries {
+
+    public static final StringDictionary GENRES = new StringDictionary("genres", Long.SIZE);
+    public static final StringDictionary TITLE_TYPES = new StringDictionary("title_type", 1 << 10);
+    public static final StringDictionary CATEGORIES = new StringDictionary("category", 1 << 10);
+    public static final StringDictionary PROFESSIONS = new StringDictionary("primary_profession", 1 << 10);
+    public static final StringDictionary REGIONS = new StringDictionary("region", 1 << 12);
+    public static final StringDictionary LANGUAGES = new StringDictionary("language", 1 << 12);
+
+    private Dictionaries() {
+    }
+}
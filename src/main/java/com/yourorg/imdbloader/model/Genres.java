@@ -0,0 +1,55 @@
+package com.yourorg.imdbloader.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Genre sets as {@code long} bitmasks over {@link Dictionaries#GENRES} codes. Overlap between two
+ * sets is {@code Long.bitCount(a & b)}; names are only needed when a movie is serialized.
+ */
+public final class Genres {
+
+    // A catalog has at most a few thousand distinct genre combinations; decode each once
+    private static final ConcurrentHashMap<Long, List<String>> NAMES = new ConcurrentHashMap<>();
+
+    private Genres() {
+    }
+
+    public static long mask(Collection<String> genres) {
+        long mask = 0;
+        if (genres != null) {
+            for (String genre : genres) {
+                mask |= bit(genre);
+            }
+        }
+        return mask;
+    }
+
+    public static long bit(String genre) {
+        return 1L << Dictionaries.GENRES.encode(genre);
+    }
+
+    public static int count(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    /**
+     * Genre names of the mask in alphabetical order, the order IMDb lists them in.
+     * The returned list is immutable and shared by all callers with the same mask.
+     */
+    public static List<String> names(long mask) {
+        if (mask == 0) {
+            return List.of();
+        }
+        return NAMES.computeIfAbsent(mask, m -> {
+            List<String> names = new ArrayList<>(Long.bitCount(m));
+            for (long bits = m; bits != 0; bits &= bits - 1) {
+                names.add(Dictionaries.GENRES.decode(Long.numberOfTrailingZeros(bits)));
+            }
+            names.sort(null);
+            return List.copyOf(names);
+        });
+    }
+}
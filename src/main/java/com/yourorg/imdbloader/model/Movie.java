@@ -1,118 +1,113 @@
 package com.yourorg.imdbloader.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
-public class Movie {
-    private String id;
-    private String primaryTitle;
-    private List<String> genres;
-    private List<String> actors;
-    private int year;
-    private double rating;
-    private int votes;
-    private String plot;
-    private double score;
-
-    public Movie() {}
-
-    public Movie(String id, String primaryTitle, List<String> genres, List<String> actors, 
-                 int year, double rating, int votes, String plot, double score) {
+/**
+ * Immutable catalog movie, shared by every request that reads the catalog. Genres are a
+ * {@link Genres} bitmask and actors a plain array; both are decoded to lists only for JSON.
+ * Per-request scores live in {@link ScoredMovie}.
+ */
+// genres has no backing field, so pin the JSON order it had when it did
+@JsonPropertyOrder({"id", "primaryTitle", "genres", "actors", "year", "rating", "votes", "plot"})
+public final class Movie {
+
+    private static final String[] NO_ACTORS = new String[0];
+
+    private final String id;
+    private final String primaryTitle;
+    // Bits are Dictionaries.GENRES codes
+    private final long genreMask;
+    private final String[] actors;
+    private final int year;
+    private final double rating;
+    private final int votes;
+    private final String plot;
+
+    public Movie(String id, String primaryTitle, List<String> genres, List<String> actors,
+                 int year, double rating, int votes, String plot) {
+        this(id, primaryTitle, Genres.mask(genres),
+                actors == null ? NO_ACTORS : actors.toArray(NO_ACTORS), year, rating, votes, plot);
+    }
+
+    /**
+     * @param actors billing-ordered cast; the array is copied
+     */
+    public Movie(String id, String primaryTitle, long genreMask, String[] actors,
+                 int year, double rating, int votes, String plot) {
         this.id = id;
         this.primaryTitle = primaryTitle;
-        this.genres = genres;
-        this.actors = actors;
+        this.genreMask = genreMask;
+        this.actors = actors == null || actors.length == 0 ? NO_ACTORS : actors.clone();
         this.year = year;
         this.rating = rating;
         this.votes = votes;
         this.plot = plot;
-        this.score = score;
     }
 
-    // Getters and Setters
     public String getId() {
         return id;
     }
 
-    public void setId(String id) {
-        this.id = id;
-    }
-
     public String getPrimaryTitle() {
         return primaryTitle;
     }
 
-    public void setPrimaryTitle(String primaryTitle) {
-        this.primaryTitle = primaryTitle;
-    }
-
     public List<String> getGenres() {
-        return genres;
+        return Genres.names(genreMask);
     }
 
-    public void setGenres(List<String> genres) {
-        this.genres = genres;
+    @JsonIgnore
+    public long getGenreMask() {
+        return genreMask;
     }
 
+    /**
+     * Unmodifiable view of the cast. Hot loops should use {@link #actorCount()} and {@link #actor(int)}.
+     */
     public List<String> getActors() {
-        return actors;
+        return Collections.unmodifiableList(Arrays.asList(actors));
     }
 
-    public void setActors(List<String> actors) {
-        this.actors = actors;
+    public int actorCount() {
+        return actors.length;
     }
 
-    public int getYear() {
-        return year;
+    public String actor(int index) {
+        return actors[index];
     }
 
-    public void setYear(int year) {
-        this.year = year;
+    public int getYear() {
+        return year;
     }
 
     public double getRating() {
         return rating;
     }
 
-    public void setRating(double rating) {
-        this.rating = rating;
-    }
-
     public int getVotes() {
         return votes;
     }
 
-    public void setVotes(int votes) {
-        this.votes = votes;
-    }
-
     public String getPlot() {
         return plot;
     }
 
-    public void setPlot(String plot) {
-        this.plot = plot;
-    }
-
-    public double getScore() {
-        return score;
-    }
-
-    public void setScore(double score) {
-        this.score = score;
-    }
-
     @Override
     public String toString() {
         return "Movie{" +
                 "id='" + id + '\'' +
                 ", primaryTitle='" + primaryTitle + '\'' +
-                ", genres=" + genres +
-                ", actors=" + actors +
+                ", genres=" + getGenres() +
+                ", actors=" + Arrays.toString(actors) +
                 ", year=" + year +
                 ", rating=" + rating +
                 ", votes=" + votes +
                 ", plot='" + plot + '\'' +
-                ", score=" + score +
                 '}';
     }
 }
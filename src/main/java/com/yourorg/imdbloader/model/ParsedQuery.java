@@ -0,0 +1,46 @@
+package com.yourorg.imdbloader.model;
+
+import java.util.List;
+
+/**
+ * What a free-text movie request asked for: "90s action with Tom Cruise" becomes the Action
+ * genre, years 1990-1999 and one actor. Words that matched nothing are kept in {@code text}.
+ *
+ * @param genreMask  genres every result must have, as {@link Genres} bits
+ * @param fromYear   first release year allowed, or 0
+ * @param toYear     last release year allowed, or 0
+ * @param actorIds   nconsts of actors who must all be in the cast
+ * @param actorNames display names of those actors, same order
+ * @param quality    how to rank what passes the filters
+ * @param text       leftover words, used to boost matching titles
+ */
+public record ParsedQuery(long genreMask, int fromYear, int toYear, List<String> actorIds,
+                          List<String> actorNames, Quality quality, String text) {
+
+    public enum Quality {
+        /** No preference: most voted first */
+        ANY,
+        /** "top rated", "best": rating weighted by how many votes back it */
+        TOP_RATED,
+        /** "hidden gems", "underrated": well rated but little known */
+        HIDDEN_GEMS,
+        /** "popular", "blockbusters": most voted first */
+        POPULAR
+    }
+
+    /**
+     * True when anything besides leftover text was recognized.
+     */
+    public boolean isStructured() {
+        return genreMask != 0 || fromYear != 0 || toYear != 0 || !actorIds.isEmpty() || quality != Quality.ANY;
+    }
+
+    public boolean matches(Movie movie) {
+        if ((movie.getGenreMask() & genreMask) != genreMask) {
+            return false;
+        }
+        // Movies without a known year (0) fall outside any range
+        return (fromYear == 0 && toYear == 0)
+                || (movie.getYear() > 0 && movie.getYear() >= fromYear && (toYear == 0 || movie.getYear() <= toYear));
+    }
+}
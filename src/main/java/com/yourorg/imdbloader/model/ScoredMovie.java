@@ -0,0 +1,46 @@
+package com.yourorg.imdbloader.model;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A catalog movie with a score computed for one request. Only the reference and the score are
+ * per request; serializes as the movie's fields followed by {@code score}.
+ */
+public final class ScoredMovie {
+
+    private final Movie movie;
+    private final double score;
+
+    public ScoredMovie(Movie movie, double score) {
+        this.movie = movie;
+        this.score = score;
+    }
+
+    /**
+     * Wraps movies that were not scored (search results, fallbacks) with a score of 0.
+     */
+    public static List<ScoredMovie> unscored(List<Movie> movies) {
+        List<ScoredMovie> result = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            result.add(new ScoredMovie(movie, 0.0));
+        }
+        return result;
+    }
+
+    @JsonUnwrapped
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoredMovie{" + movie.getId() + ", score=" + score + '}';
+    }
+}
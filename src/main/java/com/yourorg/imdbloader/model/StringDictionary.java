@@ -0,0 +1,74 @@
+package com.yourorg.imdbloader.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only mapping between a low-cardinality string domain and dense int codes (0..size-1).
+ * Codes are assigned on first sight and never change for the life of the process, so they can
+ * be stored in place of the string and decoded only where text is needed.
+ *
+ * <p>Lookups are lock-free; only the assignment of a new code synchronizes.</p>
+ */
+public final class StringDictionary {
+
+    private final String name;
+    private final int capacity;
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[0];
+
+    public StringDictionary(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Code of the value, assigning the next one if it is new.
+     *
+     * @throws IllegalStateException when the dictionary already holds {@code capacity} values
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : assign(value);
+    }
+
+    /**
+     * Code of the value, or -1 if it has never been encoded.
+     */
+    public int codeOf(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    public String decode(int code) {
+        return values[code];
+    }
+
+    /**
+     * The dictionary's own instance of the value, so repeated values share one String.
+     */
+    public String canonical(String value) {
+        return value == null ? null : decode(encode(value));
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    private synchronized int assign(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        String[] current = values;
+        if (current.length >= capacity) {
+            throw new IllegalStateException("Dictionary '" + name + "' is full (" + capacity + " values), cannot add '" + value + "'");
+        }
+        String[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = value;
+        // Publish the value before the code so a reader that finds the code can always decode it
+        values = next;
+        codes.put(value, current.length);
+        return current.length;
+    }
+}
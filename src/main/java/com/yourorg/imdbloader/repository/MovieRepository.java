@@ -1,23 +1,211 @@
 package com.yourorg.imdbloader.repository;
 
+import com.yourorg.imdbloader.model.Genres;
+import com.yourorg.imdbloader.model.Movie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 @Repository
 public class MovieRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(MovieRepository.class);
+
+    // Separate template so the streaming fetch size does not apply to other queries
+    private final JdbcTemplate catalogJdbc;
+
+    @Value("${catalog.min-votes:1000}")
+    private int minVotes;
+
+    @Value("${catalog.actors-per-movie:5}")
+    private int actorsPerMovie;
+
+    public MovieRepository(DataSource dataSource, @Value("${catalog.fetch-size:10000}") int fetchSize) {
+        this.catalogJdbc = new JdbcTemplate(dataSource);
+        this.catalogJdbc.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams acting credits (actor, actress, self) of every title kind as (tconst, nconst), grouped
+     * by title in billing order, at most {@code limit} rows. Returns false until title_principals exists.
+     */
+    @Transactional(readOnly = true)
+    public boolean forEachActingCredit(long limit, BiConsumer<String, String> credit) {
+        if (existingTables(List.of("title_principals")).isEmpty()) {
+            return false;
+        }
+        catalogJdbc.query(
+                "SELECT tconst, nconst FROM title_principals " +
+                "WHERE category IN ('actor', 'actress', 'self') " +
+                "ORDER BY tconst, ordering LIMIT ?",
+                (RowCallbackHandler) rs -> credit.accept(rs.getString(1), rs.getString(2)),
+                limit);
+        return true;
+    }
+
+    /**
+     * Streams (nconst, primary_name) for every person in name_basics.
+     */
+    @Transactional(readOnly = true)
+    public void forEachPersonName(BiConsumer<String, String> person) {
+        if (existingTables(List.of("name_basics")).isEmpty()) {
+            return;
+        }
+        catalogJdbc.query("SELECT nconst, primary_name FROM name_basics",
+                (RowCallbackHandler) rs -> person.accept(rs.getString(1), rs.getString(2)));
+    }
+
     /**
-     * Mock implementation - in a real application, this would query a database
-     * Returns top movies by actor with their ratings and vote counts
+     * Streams the akas of the titles {@link #findAllMovies()} selects, grouped by title.
+     * Missing regions and languages arrive as null. Returns false until title_akas exists.
      */
-    public List<Map<String, Object>> findTopMoviesByActor(String actor, int limit) {
-        // This is a mock implementation
-        // In a real application, this would execute a SQL query against your movie database
-        return List.of(
-            Map.of("title", "The Dark Knight", "rating", 9.0, "votes", 2500000, "tconst", "tt0468569"),
-            Map.of("title", "Inception", "rating", 8.8, "votes", 2200000, "tconst", "tt1375666"),
-            Map.of("title", "Interstellar", "rating", 8.6, "votes", 1600000, "tconst", "tt0816692")
-        );
+    @Transactional(readOnly = true)
+    public boolean forEachCatalogAka(AkaConsumer aka) {
+        if (!existingTables(List.of("title_akas", "title_basics", "title_ratings")).containsAll(
+                List.of("title_akas", "title_basics", "title_ratings"))) {
+            return false;
+        }
+        catalogJdbc.query(
+                "SELECT a.title_id, a.title, a.region, a.language " +
+                "FROM title_akas a JOIN title_basics b ON b.tconst = a.title_id " +
+                "JOIN title_ratings r ON r.tconst = a.title_id " +
+                "WHERE b.title_type = 'movie' AND r.num_votes >= ? ORDER BY a.title_id",
+                (RowCallbackHandler) rs -> aka.accept(rs.getString(1), rs.getString(2),
+                        nullIfMissing(rs.getString(3)), nullIfMissing(rs.getString(4))),
+                minVotes);
+        return true;
+    }
+
+    @FunctionalInterface
+    public interface AkaConsumer {
+        void accept(String titleId, String title, String region, String language);
+    }
+
+    private static String nullIfMissing(String value) {
+        return value == null || value.isEmpty() || "\\N".equals(value) ? null : value;
+    }
+
+    /**
+     * Loads the catalog: feature films with at least {@code catalog.min-votes} votes from
+     * title_basics joined with title_ratings, their leading cast from title_principals and any
+     * plot already in the OMDb plot cache. Returns an empty list until the IMDb tables exist.
+     */
+    @Transactional(readOnly = true)
+    public List<Movie> findAllMovies() {
+        Set<String> tables = existingTables(List.of("title_basics", "title_ratings", "title_principals",
+                "name_basics", "omdb_plots"));
+        if (!tables.containsAll(List.of("title_basics", "title_ratings"))) {
+            log.info("IMDB tables not loaded yet, catalog is empty");
+            return List.of();
+        }
+
+        Map<String, Movie> movies = new LinkedHashMap<>();
+        String plotJoin = tables.contains("omdb_plots") ? "LEFT JOIN omdb_plots p ON p.imdb_id = b.tconst " : "";
+        String plotColumn = tables.contains("omdb_plots") ? "p.plot" : "NULL";
+        catalogJdbc.query(
+                "SELECT b.tconst, b.primary_title, b.genres, b.start_year, r.average_rating, r.num_votes, " + plotColumn + " " +
+                "FROM title_basics b JOIN title_ratings r ON r.tconst = b.tconst " + plotJoin +
+                "WHERE b.title_type = 'movie' AND r.num_votes >= ? " +
+                "ORDER BY r.num_votes DESC, b.tconst",
+                (RowCallbackHandler) rs -> {
+                    String genres = rs.getString(3);
+                    movies.put(rs.getString(1), new Movie(rs.getString(1), rs.getString(2),
+                            genres == null ? 0L : Genres.mask(Arrays.asList(genres.split(","))),
+                            null,
+                            rs.getInt(4), rs.getDouble(5), rs.getInt(6), rs.getString(7)));
+                },
+                minVotes);
+
+        if (tables.containsAll(List.of("title_principals", "name_basics")) && !movies.isEmpty()) {
+            Map<String, List<String>> casts = new HashMap<>();
+            // An actor appearing in many movies is held as one String
+            Map<String, String> names = new HashMap<>();
+            catalogJdbc.query(
+                    "SELECT p.tconst, n.primary_name " +
+                    "FROM title_principals p " +
+                    "JOIN title_ratings r ON r.tconst = p.tconst " +
+                    "JOIN title_basics b ON b.tconst = p.tconst " +
+                    "JOIN name_basics n ON n.nconst = p.nconst " +
+                    "WHERE b.title_type = 'movie' AND r.num_votes >= ? AND p.category IN ('actor', 'actress', 'self') " +
+                    "ORDER BY p.tconst, p.ordering",
+                    (RowCallbackHandler) rs -> {
+                        String tconst = rs.getString(1);
+                        String name = rs.getString(2);
+                        if (!movies.containsKey(tconst) || name == null) {
+                            return;
+                        }
+                        List<String> cast = casts.computeIfAbsent(tconst, t -> new ArrayList<>(actorsPerMovie));
+                        if (cast.size() < actorsPerMovie) {
+                            cast.add(names.computeIfAbsent(name, n -> n));
+                        }
+                    },
+                    minVotes);
+            casts.forEach((tconst, cast) -> movies.computeIfPresent(tconst, (t, m) -> new Movie(m.getId(),
+                    m.getPrimaryTitle(), m.getGenreMask(), cast.toArray(new String[0]),
+                    m.getYear(), m.getRating(), m.getVotes(), m.getPlot())));
+        }
+        return new ArrayList<>(movies.values());
+    }
+
+    /**
+     * Cached OMDb plots by IMDb id, skipping negative entries. Empty until omdb_plots exists.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> findAllPlots() {
+        Map<String, String> plots = new HashMap<>();
+        if (existingTables(List.of("omdb_plots")).isEmpty()) {
+            return plots;
+        }
+        catalogJdbc.query("SELECT imdb_id, plot FROM omdb_plots WHERE plot IS NOT NULL",
+                (RowCallbackHandler) rs -> plots.put(rs.getString(1), rs.getString(2)));
+        return plots;
+    }
+
+    /**
+     * Version stamped by the loader after each dump load, 0 if the data predates versioning.
+     */
+    @Transactional(readOnly = true)
+    public long datasetVersion() {
+        if (existingTables(List.of("imdb_dataset")).isEmpty()) {
+            return 0;
+        }
+        List<Long> versions = catalogJdbc.queryForList("SELECT version FROM imdb_dataset WHERE id = 1", Long.class);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * Settings that shape {@link #findAllMovies()}; a catalog built with different ones is not reusable.
+     */
+    public String catalogSettings() {
+        return "min-votes=" + minVotes + ";actors-per-movie=" + actorsPerMovie;
+    }
+
+    private Set<String> existingTables(List<String> names) {
+        Set<String> wanted = new HashSet<>(names);
+        Set<String> present = new HashSet<>();
+        catalogJdbc.query("SELECT table_name FROM information_schema.tables WHERE table_schema = current_schema()",
+                (RowCallbackHandler) rs -> {
+                    String table = rs.getString(1).toLowerCase(Locale.ROOT);
+                    if (wanted.contains(table)) {
+                        present.add(table);
+                    }
+                });
+        return present;
     }
 }
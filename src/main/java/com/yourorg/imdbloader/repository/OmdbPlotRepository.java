@@ -0,0 +1,79 @@
+package com.yourorg.imdbloader.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent tier of the OMDb plot cache. A null plot marks a negative entry
+ * (OMDb had no plot or did not know the title).
+ */
+@Repository
+public class OmdbPlotRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OmdbPlotRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS omdb_plots (
+                imdb_id VARCHAR(20) PRIMARY KEY,
+                plot TEXT,
+                fetched_at TIMESTAMP NOT NULL
+            )
+        """);
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS omdb_prefetch_cursor (
+                id SMALLINT PRIMARY KEY,
+                catalog_fingerprint BIGINT NOT NULL,
+                position INTEGER NOT NULL,
+                updated_at TIMESTAMP NOT NULL
+            )
+        """);
+    }
+
+    public Optional<StoredPlot> find(String imdbId) {
+        List<StoredPlot> rows = jdbcTemplate.query(
+                "SELECT plot, fetched_at FROM omdb_plots WHERE imdb_id = ?",
+                (rs, i) -> new StoredPlot(rs.getString(1), rs.getTimestamp(2).toInstant()),
+                imdbId);
+        return rows.stream().findFirst();
+    }
+
+    public void upsert(String imdbId, String plot, Instant fetchedAt) {
+        jdbcTemplate.update(
+                "INSERT INTO omdb_plots (imdb_id, plot, fetched_at) VALUES (?, ?, ?) " +
+                "ON CONFLICT (imdb_id) DO UPDATE SET plot = EXCLUDED.plot, fetched_at = EXCLUDED.fetched_at",
+                imdbId, plot, Timestamp.from(fetchedAt));
+    }
+
+    /**
+     * Position the plot prefetcher reached, or -1 if it last walked a different catalog. The
+     * catalog_fingerprint column holds the prefetcher's walk key, not the catalog fingerprint.
+     */
+    public int findPrefetchPosition(long walkKey) {
+        List<Integer> rows = jdbcTemplate.query(
+                "SELECT position FROM omdb_prefetch_cursor WHERE id = 1 AND catalog_fingerprint = ?",
+                (rs, i) -> rs.getInt(1),
+                walkKey);
+        return rows.isEmpty() ? -1 : rows.get(0);
+    }
+
+    public void savePrefetchPosition(long walkKey, int position) {
+        jdbcTemplate.update(
+                "INSERT INTO omdb_prefetch_cursor (id, catalog_fingerprint, position, updated_at) VALUES (1, ?, ?, ?) " +
+                "ON CONFLICT (id) DO UPDATE SET catalog_fingerprint = EXCLUDED.catalog_fingerprint, " +
+                "position = EXCLUDED.position, updated_at = EXCLUDED.updated_at",
+                walkKey, position, Timestamp.from(Instant.now()));
+    }
+
+    public record StoredPlot(String plot, Instant fetchedAt) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.yourorg.imdbloader.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.function.BiConsumer;
+
+/**
+ * Full scans of {@code user_preferences} for offline model builds.
+ */
+@Repository
+public class PreferenceScanRepository {
+
+    // Separate template so the streaming fetch size does not apply to other queries
+    private final JdbcTemplate scanJdbc;
+
+    public PreferenceScanRepository(DataSource dataSource, @Value("${recommender.cf.fetch-size:50000}") int fetchSize) {
+        this.scanJdbc = new JdbcTemplate(dataSource);
+        this.scanJdbc.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams (user_id, liked_movie_id) grouped by user, oldest like first. Read-only so the scan is
+     * served by a replica when one is configured; PostgreSQL only honours the fetch size (cursor
+     * streaming) inside a transaction.
+     */
+    @Transactional(readOnly = true)
+    public void forEachPreference(BiConsumer<String, String> preference) {
+        scanJdbc.query("SELECT user_id, liked_movie_id FROM user_preferences ORDER BY user_id, id",
+                (RowCallbackHandler) rs -> preference.accept(rs.getString(1), rs.getString(2)));
+    }
+}
@@ -2,9 +2,13 @@ package com.yourorg.imdbloader.repository;
 
 import com.yourorg.imdbloader.entity.UserPreferenceEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface UserPreferenceRepository extends JpaRepository<UserPreferenceEntity, Long> {
+
+    // Declared query methods are not read-only by default; this one may be served by a replica
+    @Transactional(readOnly = true)
     List<UserPreferenceEntity> findByUserId(String userId);
 }
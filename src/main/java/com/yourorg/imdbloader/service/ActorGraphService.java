@@ -0,0 +1,316 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.dto.ActorDto;
+import com.yourorg.imdbloader.dto.CoStarDto;
+import com.yourorg.imdbloader.index.ActorGraph;
+import com.yourorg.imdbloader.index.TextFolding;
+import com.yourorg.imdbloader.index.TopK;
+import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.model.ScoredMovie;
+import com.yourorg.imdbloader.repository.MovieRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves actor lookups, name search and co-star queries from an in-memory {@link ActorGraph}.
+ *
+ * <p>The graph covers acting credits of all title kinds and is rebuilt on a background thread
+ * when the dataset version changes; catalog reloads only remap graph titles to catalog movies.
+ * Requests never touch the database.</p>
+ */
+@Service
+public class ActorGraphService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActorGraphService.class);
+
+    // Name matches checked for an exact full-name match; the most credited come first
+    private static final int NAME_CANDIDATES = 10;
+
+    private final MovieRepository movieRepository;
+    private final MovieCatalog movieCatalog;
+    private final boolean enabled;
+    private final long maxEdges;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "actor-graph");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong versions = new AtomicLong();
+
+    @Value("${actors.graph.max-titles-per-hop:1000}")
+    private int maxTitlesPerHop;
+
+    @Value("${actors.graph.co-stars-per-recommendation:50}")
+    private int coStarsPerRecommendation;
+
+    @Value("${actors.search.max-scan:50000}")
+    private int searchMaxScan;
+
+    private volatile State state;
+    private volatile long buildingForDataset = -1;
+
+    public ActorGraphService(MovieRepository movieRepository, MovieCatalog movieCatalog,
+                             @Value("${actors.graph.enabled:true}") boolean enabled,
+                             @Value("${actors.graph.max-edges:100000000}") long maxEdges) {
+        this.movieRepository = movieRepository;
+        this.movieCatalog = movieCatalog;
+        this.enabled = enabled;
+        this.maxEdges = maxEdges;
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long datasetVersion = event.snapshot().datasetVersion();
+        State current = state;
+        if (current != null && current.datasetVersion == datasetVersion) {
+            state = current.withCatalog(event.snapshot(), versions.incrementAndGet());
+            return;
+        }
+        synchronized (this) {
+            if (buildingForDataset == datasetVersion) {
+                return;
+            }
+            buildingForDataset = datasetVersion;
+        }
+        executor.execute(() -> build(datasetVersion));
+    }
+
+    private void build(long datasetVersion) {
+        long start = System.currentTimeMillis();
+        try {
+            ActorGraph.Builder builder = new ActorGraph.Builder();
+            long[] rows = new long[2];
+            movieRepository.forEachActingCredit(maxEdges, (tconst, nconst) -> {
+                rows[0]++;
+                int title = ActorGraph.parseId(tconst, ActorGraph.TITLE_PREFIX);
+                int name = ActorGraph.parseId(nconst, ActorGraph.NAME_PREFIX);
+                if (title >= 0 && name >= 0) {
+                    builder.addCredit(title, name);
+                } else {
+                    rows[1]++;
+                }
+            });
+            if (rows[0] >= maxEdges) {
+                log.warn("Actor graph stopped at actors.graph.max-edges={} credits, later titles are missing", maxEdges);
+            }
+            builder.indexActors();
+            movieRepository.forEachPersonName((nconst, name) -> {
+                int id = ActorGraph.parseId(nconst, ActorGraph.NAME_PREFIX);
+                if (id >= 0) {
+                    builder.addName(id, name);
+                }
+            });
+            ActorGraph graph = builder.build();
+            state = new State(0, datasetVersion, graph, null, null)
+                    .withCatalog(movieCatalog.current(), versions.incrementAndGet());
+            log.info("✅ Built actor graph: {} titles, {} actors, {} credits ({} skipped) in {} ms",
+                    graph.titleCount(), graph.actorCount(), graph.edgeCount(), rows[1],
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("❌ Actor graph build failed, actor endpoints stay unavailable", e);
+        } finally {
+            synchronized (this) {
+                buildingForDataset = -1;
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return state != null;
+    }
+
+    /**
+     * Changes whenever the graph or its mapping to catalog movies changes; 0 before the first build.
+     */
+    public long version() {
+        State current = state;
+        return current == null ? 0 : current.version;
+    }
+
+    public boolean isKnownActor(String nconst) {
+        return actorOrdinal(requireState(), nconst) >= 0;
+    }
+
+    /**
+     * The actor's catalog movies, most voted first, or null for an unknown actor.
+     */
+    public List<Movie> moviesOf(String nconst, int limit) {
+        State current = requireState();
+        int actor = actorOrdinal(current, nconst);
+        if (actor < 0) {
+            return null;
+        }
+        ActorGraph graph = current.graph;
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < graph.creditCount(actor); i++) {
+            Movie movie = current.movie(graph.credit(actor, i));
+            if (movie != null) {
+                movies.add(movie);
+            }
+        }
+        movies.sort(Comparator.comparingInt(Movie::getVotes).reversed());
+        return movies.subList(0, Math.min(Math.max(limit, 0), movies.size()));
+    }
+
+    /**
+     * Actors whose name has a word starting with the query, most credited first.
+     */
+    public List<ActorDto> search(String query, int limit) {
+        ActorGraph graph = requireState().graph;
+        List<ActorDto> result = new ArrayList<>();
+        for (int actor : graph.searchByName(query, limit, searchMaxScan)) {
+            result.add(new ActorDto(ActorGraph.formatId(ActorGraph.NAME_PREFIX, graph.nconst(actor)),
+                    graph.name(actor), graph.creditCount(actor)));
+        }
+        return result;
+    }
+
+    /**
+     * The most credited actor whose whole name equals the given one after case and accent
+     * folding, or null if there is none or the graph is not built yet.
+     */
+    public ActorDto findByName(String name) {
+        State current = state;
+        List<String> wanted = TextFolding.tokens(name);
+        if (current == null || wanted.isEmpty()) {
+            return null;
+        }
+        ActorGraph graph = current.graph;
+        for (int actor : graph.searchByName(name, NAME_CANDIDATES, searchMaxScan)) {
+            if (TextFolding.tokens(graph.name(actor)).equals(wanted)) {
+                return new ActorDto(ActorGraph.formatId(ActorGraph.NAME_PREFIX, graph.nconst(actor)),
+                        graph.name(actor), graph.creditCount(actor));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Actors who shared the most titles with the given one, or null for an unknown actor.
+     */
+    public List<CoStarDto> coStars(String nconst, int limit) {
+        State current = requireState();
+        int actor = actorOrdinal(current, nconst);
+        if (actor < 0) {
+            return null;
+        }
+        ActorGraph graph = current.graph;
+        int[][] coStars = graph.coStars(actor, limit, maxTitlesPerHop);
+        List<CoStarDto> result = new ArrayList<>(coStars[0].length);
+        for (int i = 0; i < coStars[0].length; i++) {
+            int coStar = coStars[0][i];
+            result.add(new CoStarDto(ActorGraph.formatId(ActorGraph.NAME_PREFIX, graph.nconst(coStar)),
+                    graph.name(coStar), coStars[1][i]));
+        }
+        return result;
+    }
+
+    /**
+     * Two hops out: catalog movies the actor is not in that feature their frequent co-stars.
+     * A movie scores the share of co-star weight (titles shared with the actor) present in its cast.
+     * Returns null for an unknown actor.
+     */
+    public List<ScoredMovie> coStarRecommendations(String nconst, int limit) {
+        State current = requireState();
+        int actor = actorOrdinal(current, nconst);
+        if (actor < 0) {
+            return null;
+        }
+        ActorGraph graph = current.graph;
+        Set<Integer> ownTitles = new HashSet<>();
+        for (int i = 0; i < graph.creditCount(actor); i++) {
+            ownTitles.add(graph.credit(actor, i));
+        }
+        int[][] coStars = graph.coStars(actor, coStarsPerRecommendation, maxTitlesPerHop);
+        Map<Integer, float[]> scores = new HashMap<>();
+        float totalWeight = 0;
+        for (int c = 0; c < coStars[0].length; c++) {
+            int coStar = coStars[0][c];
+            float weight = coStars[1][c];
+            totalWeight += weight;
+            int titles = Math.min(graph.creditCount(coStar), maxTitlesPerHop);
+            for (int i = 0; i < titles; i++) {
+                int title = graph.credit(coStar, i);
+                if (!ownTitles.contains(title) && current.catalogOrdinals[title] >= 0) {
+                    scores.computeIfAbsent(title, t -> new float[1])[0] += weight;
+                }
+            }
+        }
+        if (scores.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        TopK top = new TopK(Math.min(limit, scores.size()));
+        float norm = totalWeight;
+        scores.forEach((title, score) -> top.offer(title, score[0] / norm));
+        int[] titles = new int[top.size()];
+        float[] titleScores = new float[titles.length];
+        top.drainDescending(titles, titleScores, 0);
+        List<ScoredMovie> result = new ArrayList<>(titles.length);
+        for (int i = 0; i < titles.length; i++) {
+            result.add(new ScoredMovie(current.movie(titles[i]), titleScores[i]));
+        }
+        return result;
+    }
+
+    private State requireState() {
+        State current = state;
+        if (current == null) {
+            throw new CatalogNotReadyException("Actor graph is not ready");
+        }
+        return current;
+    }
+
+    private static int actorOrdinal(State current, String nconst) {
+        int id = ActorGraph.parseId(nconst, ActorGraph.NAME_PREFIX);
+        return id < 0 ? -1 : current.graph.actorOrdinal(id);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A graph plus, per graph title, the ordinal of the same movie in one catalog version (-1 if absent).
+     */
+    private record State(long version, long datasetVersion, ActorGraph graph,
+                         MovieCatalog.Snapshot catalog, int[] catalogOrdinals) {
+
+        Movie movie(int title) {
+            int ordinal = catalogOrdinals[title];
+            return ordinal < 0 ? null : catalog.get(ordinal);
+        }
+
+        State withCatalog(MovieCatalog.Snapshot snapshot, long newVersion) {
+            int[] ordinals = new int[graph.titleCount()];
+            Arrays.fill(ordinals, -1);
+            for (int i = 0; i < snapshot.size(); i++) {
+                int id = ActorGraph.parseId(snapshot.get(i).getId(), ActorGraph.TITLE_PREFIX);
+                int title = id < 0 ? -1 : graph.titleOrdinal(id);
+                if (title >= 0) {
+                    ordinals[title] = i;
+                }
+            }
+            return new State(newVersion, datasetVersion, graph, snapshot, ordinals);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.index.AkaSearchIndex;
+import com.yourorg.imdbloader.model.Dictionaries;
+import com.yourorg.imdbloader.model.StringDictionary;
+import com.yourorg.imdbloader.repository.MovieRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Searches catalog movies by their alternative titles from title_akas, so queries in the
+ * language of a release ("Die Verurteilten", "千と千尋") find the movie.
+ *
+ * <p>The {@link AkaSearchIndex} is rebuilt on a background thread after every catalog reload and
+ * answers only for the catalog version it was built against; until then search returns nothing
+ * and callers fall back to title matching.</p>
+ */
+@Service
+public class AkaSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(AkaSearchService.class);
+
+    private final MovieRepository movieRepository;
+    private final MovieCatalog movieCatalog;
+    private final boolean enabled;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "aka-index");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${akas.search.max-prefix-expansions:200}")
+    private int maxPrefixExpansions;
+
+    private volatile Built built;
+
+    public AkaSearchService(MovieRepository movieRepository, MovieCatalog movieCatalog,
+                            @Value("${akas.index.enabled:true}") boolean enabled) {
+        this.movieRepository = movieRepository;
+        this.movieCatalog = movieCatalog;
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (enabled) {
+            executor.execute(() -> build(event.snapshot()));
+        }
+    }
+
+    private void build(MovieCatalog.Snapshot snapshot) {
+        if (movieCatalog.current().version() != snapshot.version()) {
+            return; // a newer reload queued its own build
+        }
+        long start = System.currentTimeMillis();
+        try {
+            AkaSearchIndex.Builder builder = new AkaSearchIndex.Builder();
+            boolean loaded = movieRepository.forEachCatalogAka((titleId, title, region, language) -> {
+                int ordinal = snapshot.ordinalOf(titleId);
+                if (ordinal >= 0) {
+                    builder.add(ordinal, title,
+                            region == null ? AkaSearchIndex.NO_TAG : Dictionaries.REGIONS.encode(region),
+                            language == null ? AkaSearchIndex.NO_TAG : Dictionaries.LANGUAGES.encode(language));
+                }
+            });
+            if (!loaded) {
+                log.info("title_akas not loaded yet, aka search is off");
+                return;
+            }
+            AkaSearchIndex index = builder.build();
+            built = new Built(snapshot.version(), index);
+            log.info("✅ Built aka index: {} akas, {} terms, dictionary {} KB, postings {} KB in {} ms",
+                    index.akaCount(), index.termCount(), index.dictionaryBytes() / 1024,
+                    index.postingBytes() / 1024, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("❌ Aka index build failed, search falls back to primary titles", e);
+        }
+    }
+
+    public boolean isReady() {
+        Built current = built;
+        return current != null && current.catalogVersion == movieCatalog.current().version();
+    }
+
+    /**
+     * Catalog ordinals of movies with an aka matching the query, scored by {@link AkaSearchIndex#search}.
+     * Empty when the index does not belong to the given catalog snapshot.
+     *
+     * @param region   ISO 3166 region to boost (e.g. "DE"), or null
+     * @param language ISO 639 language to boost (e.g. "ja"), or null
+     */
+    public Map<Integer, Float> search(MovieCatalog.Snapshot snapshot, String query, String region, String language) {
+        Built current = built;
+        if (current == null || current.catalogVersion != snapshot.version()) {
+            return Map.of();
+        }
+        return current.index.search(query,
+                tag(Dictionaries.REGIONS, region == null ? null : region.toUpperCase(Locale.ROOT)),
+                tag(Dictionaries.LANGUAGES, language == null ? null : language.toLowerCase(Locale.ROOT)),
+                maxPrefixExpansions);
+    }
+
+    // Values no aka carries cannot boost anything
+    private static int tag(StringDictionary dictionary, String value) {
+        int code = value == null || value.isBlank() ? -1 : dictionary.codeOf(value);
+        return code < 0 ? AkaSearchIndex.NO_TAG : code;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Built(long catalogVersion, AkaSearchIndex index) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.yourorg.imdbloader.service;
+
+/**
+ * Thrown by catalog endpoints while {@link DataLoadJob} has not produced a catalog yet,
+ * or while an index built from it is still being built.
+ */
+public class CatalogNotReadyException extends RuntimeException {
+
+    public CatalogNotReadyException(DataLoadJob.State state) {
+        super("Movie catalog is not ready (" + state + ")");
+    }
+
+    public CatalogNotReadyException(String message) {
+        super(message);
+    }
+}
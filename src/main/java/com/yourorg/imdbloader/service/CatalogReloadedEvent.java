@@ -0,0 +1,7 @@
+package com.yourorg.imdbloader.service;
+
+/**
+ * Published after the movie catalog swaps in a new snapshot so derived indexes can rebuild.
+ */
+public record CatalogReloadedEvent(MovieCatalog.Snapshot snapshot) {
+}
@@ -0,0 +1,286 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.model.Genres;
+import com.yourorg.imdbloader.model.Movie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of the movie catalog so a warm restart skips the PostgreSQL scans.
+ *
+ * <p>Layout: header (magic, format version, dataset version, catalog settings, movie count),
+ * genre dictionary, fixed-width columns (year, rating, votes, genre bitmask), cast adjacency in
+ * CSR form over an actor dictionary, then the id and title string columns, and finally a CRC32 of
+ * everything before it. The file is opened with {@link FileChannel#map}; a checksum mismatch or a
+ * different dataset version or settings makes {@link #read} return null so the caller rebuilds
+ * from the database. Plots are not stored: OMDb keeps adding them between dataset loads, so they
+ * are joined in from {@code omdb_plots} on every read.</p>
+ */
+@Component
+public class CatalogSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotStore.class);
+
+    private static final int MAGIC = 0x43415453; // "CATS"
+    private static final int FORMAT_VERSION = 2;
+    private static final int MAX_GENRES = Long.SIZE;
+
+    private final String snapshotPath;
+
+    public CatalogSnapshotStore(@Value("${catalog.snapshot-path:}") String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
+    public boolean isEnabled() {
+        return snapshotPath != null && !snapshotPath.isBlank();
+    }
+
+    /**
+     * The snapshotted catalog with plots from {@code plots} (queried only for a valid snapshot), or
+     * null when there is no valid snapshot for this dataset version and settings.
+     */
+    public List<Movie> read(long datasetVersion, String settings, Supplier<Map<String, String>> plots) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Long.BYTES || size > Integer.MAX_VALUE) {
+                log.warn("Catalog snapshot {} has an invalid size, rebuilding from the database", path);
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, (int) size - Long.BYTES));
+            if (crc.getValue() != buffer.getLong((int) size - Long.BYTES)) {
+                log.warn("Catalog snapshot {} failed its checksum, rebuilding from the database", path);
+                return null;
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getLong() != datasetVersion || !settings.equals(readString(buffer))) {
+                log.info("Catalog snapshot {} is stale, rebuilding from the database", path);
+                return null;
+            }
+            return decode(buffer, plots.get());
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log.warn("Could not read catalog snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    public void write(List<Movie> movies, long datasetVersion, String settings) {
+        if (!isEnabled()) {
+            return;
+        }
+        Path path = Paths.get(snapshotPath);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Map<String, Integer> genres = dictionary(movies, true);
+            if (genres.size() > MAX_GENRES) {
+                log.warn("Catalog has {} genres, more than a {}-bit mask holds; snapshot not written",
+                        genres.size(), MAX_GENRES);
+                return;
+            }
+            Map<String, Integer> actors = dictionary(movies, false);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            CRC32 crc = new CRC32();
+            try (CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16), crc);
+                 DataOutputStream out = new DataOutputStream(checked)) {
+                encode(out, movies, datasetVersion, settings, genres, actors);
+                out.flush();
+                out.writeLong(crc.getValue());
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("💾 Wrote catalog snapshot with {} movies to {} ({} KB)",
+                    movies.size(), path, Files.size(path) / 1024);
+        } catch (IOException e) {
+            log.warn("Could not write catalog snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static void encode(DataOutputStream out, List<Movie> movies, long datasetVersion, String settings,
+                               Map<String, Integer> genres, Map<String, Integer> actors) throws IOException {
+        int n = movies.size();
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(datasetVersion);
+        writeString(out, settings);
+        out.writeInt(n);
+
+        writeDictionary(out, genres);
+        for (Movie movie : movies) {
+            out.writeInt(movie.getYear());
+        }
+        for (Movie movie : movies) {
+            out.writeDouble(movie.getRating());
+        }
+        for (Movie movie : movies) {
+            out.writeInt(movie.getVotes());
+        }
+        for (Movie movie : movies) {
+            long mask = 0;
+            for (String genre : movie.getGenres()) {
+                mask |= 1L << genres.get(genre);
+            }
+            out.writeLong(mask);
+        }
+
+        writeDictionary(out, actors);
+        int offset = 0;
+        out.writeInt(offset);
+        for (Movie movie : movies) {
+            offset += movie.actorCount();
+            out.writeInt(offset);
+        }
+        for (Movie movie : movies) {
+            for (int a = 0; a < movie.actorCount(); a++) {
+                out.writeInt(actors.get(movie.actor(a)));
+            }
+        }
+
+        for (Movie movie : movies) {
+            writeString(out, movie.getId());
+        }
+        for (Movie movie : movies) {
+            writeString(out, movie.getPrimaryTitle());
+        }
+    }
+
+    private static List<Movie> decode(MappedByteBuffer buffer, Map<String, String> plots) {
+        int n = buffer.getInt();
+        String[] genres = readDictionary(buffer);
+        int[] years = new int[n];
+        double[] ratings = new double[n];
+        int[] votes = new int[n];
+        long[] masks = new long[n];
+        buffer.asIntBuffer().get(years);
+        buffer.position(buffer.position() + n * Integer.BYTES);
+        buffer.asDoubleBuffer().get(ratings);
+        buffer.position(buffer.position() + n * Double.BYTES);
+        buffer.asIntBuffer().get(votes);
+        buffer.position(buffer.position() + n * Integer.BYTES);
+        buffer.asLongBuffer().get(masks);
+        buffer.position(buffer.position() + n * Long.BYTES);
+
+        String[] actors = readDictionary(buffer);
+        int[] castOffsets = new int[n + 1];
+        buffer.asIntBuffer().get(castOffsets);
+        buffer.position(buffer.position() + (n + 1) * Integer.BYTES);
+        int[] cast = new int[castOffsets[n]];
+        buffer.asIntBuffer().get(cast);
+        buffer.position(buffer.position() + cast.length * Integer.BYTES);
+
+        String[] ids = new String[n];
+        String[] titles = new String[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = readString(buffer);
+        }
+        for (int i = 0; i < n; i++) {
+            titles[i] = readString(buffer);
+        }
+
+        // Snapshot genre bits are positions in its own dictionary; translate them to process-wide codes
+        long[] genreBits = new long[genres.length];
+        for (int g = 0; g < genres.length; g++) {
+            genreBits[g] = Genres.bit(genres[g]);
+        }
+        Map<Long, Long> genreMasks = new HashMap<>();
+        List<Movie> movies = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            long movieGenres = genreMasks.computeIfAbsent(masks[i], mask -> {
+                long translated = 0;
+                for (long bits = mask; bits != 0; bits &= bits - 1) {
+                    translated |= genreBits[Long.numberOfTrailingZeros(bits)];
+                }
+                return translated;
+            });
+            String[] movieActors = new String[castOffsets[i + 1] - castOffsets[i]];
+            for (int a = 0; a < movieActors.length; a++) {
+                movieActors[a] = actors[cast[castOffsets[i] + a]];
+            }
+            movies.add(new Movie(ids[i], titles[i], movieGenres, movieActors,
+                    years[i], ratings[i], votes[i], plots.get(ids[i])));
+        }
+        return movies;
+    }
+
+    // Sorted, so the file layout does not depend on the order values were first seen
+    private static Map<String, Integer> dictionary(List<Movie> movies, boolean genres) {
+        TreeSet<String> values = new TreeSet<>();
+        for (Movie movie : movies) {
+            values.addAll(genres ? movie.getGenres() : movie.getActors());
+        }
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (String value : values) {
+            dictionary.put(value, dictionary.size());
+        }
+        return dictionary;
+    }
+
+    private static void writeDictionary(DataOutputStream out, Map<String, Integer> dictionary) throws IOException {
+        out.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            writeString(out, value);
+        }
+    }
+
+    private static String[] readDictionary(MappedByteBuffer buffer) {
+        String[] values = new String[buffer.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(buffer);
+        }
+        return values;
+    }
+
+    // Length-prefixed UTF-8, -1 for null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,76 @@
+package com.yourorg.imdbloader.service;
+
+/**
+ * Consecutive-failure circuit breaker. Errors and calls slower than {@code slowCallMs} count as
+ * failures; after {@code failureThreshold} in a row the circuit opens and rejects calls for
+ * {@code openMs}, then lets a single trial call through (half-open) to decide whether to close.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long slowCallMs;
+    private final long openMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMs;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long slowCallMs, long openMs) {
+        this.failureThreshold = failureThreshold;
+        this.slowCallMs = slowCallMs;
+        this.openMs = openMs;
+    }
+
+    /**
+     * Whether a call may proceed now. Every permitted call must be followed by {@link #record}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAtMs < openMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     */
+    public synchronized void record(boolean succeeded, long elapsedMs) {
+        boolean failed = !succeeded || elapsedMs > slowCallMs;
+        if (!failed) {
+            consecutiveFailures = 0;
+            state = State.CLOSED;
+            trialInFlight = false;
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtMs = System.currentTimeMillis();
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Current state without side effects; an expired OPEN still reports OPEN until the next call.
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.currentTimeMillis() - openedAtMs < openMs;
+    }
+}
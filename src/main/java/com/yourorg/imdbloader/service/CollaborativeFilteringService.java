@@ -0,0 +1,258 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.index.IntArrayList;
+import com.yourorg.imdbloader.index.ItemSimilarityMatrix;
+import com.yourorg.imdbloader.index.TopK;
+import com.yourorg.imdbloader.repository.PreferenceScanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Item-item collaborative filtering over {@code user_preferences}.
+ * Periodically rebuilds a sparse co-occurrence similarity matrix (cosine-normalised)
+ * and serves neighbour scores from memory.
+ */
+@Service
+public class CollaborativeFilteringService {
+
+    private static final Logger log = LoggerFactory.getLogger(CollaborativeFilteringService.class);
+
+    private final PreferenceScanRepository preferenceScanRepository;
+    private final RecommendationStore recommendationStore;
+
+    @Value("${recommender.cf.neighbours:50}")
+    private int maxNeighbours;
+
+    @Value("${recommender.cf.max-items-per-user:500}")
+    private int maxItemsPerUser;
+
+    private volatile ItemSimilarityMatrix matrix = ItemSimilarityMatrix.EMPTY;
+    private volatile long version;
+
+    public CollaborativeFilteringService(PreferenceScanRepository preferenceScanRepository,
+                                         RecommendationStore recommendationStore) {
+        this.preferenceScanRepository = preferenceScanRepository;
+        this.recommendationStore = recommendationStore;
+    }
+
+    /**
+     * Neighbour scores for the given liked items. Pure in-memory lookup.
+     */
+    public Map<String, Double> scoreNeighbours(Collection<String> likedMovieIds) {
+        ItemSimilarityMatrix current = matrix;
+        if (current.itemCount() == 0 || likedMovieIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return current.scoreNeighbours(likedMovieIds);
+    }
+
+    public ItemSimilarityMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Incremented on every successful rebuild.
+     */
+    public long version() {
+        return version;
+    }
+
+    // Not transactional: the scan holds a connection only while streaming, not during the build
+    @Scheduled(initialDelayString = "${recommender.cf.initial-delay-ms:30000}",
+               fixedDelayString = "${recommender.cf.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            PreferenceData data = loadPreferences();
+            if (data.itemIds.isEmpty()) {
+                log.info("No user preferences found, collaborative filtering matrix left empty");
+                return;
+            }
+            ItemSimilarityMatrix built = computeMatrix(data);
+            // Precomputed lists blended the previous matrix; dirty them before the new version shows
+            recommendationStore.markAllDirty();
+            matrix = built;
+            version++;
+            log.info("✅ Rebuilt item-item matrix: {} items, {} users, {} edges in {} ms",
+                    built.itemCount(), data.userCount(), built.edgeCount(), System.currentTimeMillis() - start);
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild collaborative filtering matrix: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Streams preferences ordered by user so each user's items can be flushed as one CSR row
+     * without holding a per-user map in memory.
+     */
+    private PreferenceData loadPreferences() {
+        PreferenceData data = new PreferenceData();
+        IntArrayList userItems = new IntArrayList();
+        String[] currentUser = new String[1];
+        preferenceScanRepository.forEachPreference((userId, movieId) -> {
+            if (!Objects.equals(userId, currentUser[0])) {
+                data.flushUser(userItems, maxItemsPerUser);
+                currentUser[0] = userId;
+            }
+            userItems.add(data.internItem(movieId));
+        });
+        data.flushUser(userItems, maxItemsPerUser);
+        return data;
+    }
+
+    private ItemSimilarityMatrix computeMatrix(PreferenceData data) {
+        int itemCount = data.itemIds.size();
+        int[] userOffsets = data.userOffsets.toArray();
+        int[] userItems = data.userItems.toArray();
+
+        // Transpose user -> items into item -> users
+        int[] itemDegree = new int[itemCount];
+        for (int item : userItems) {
+            itemDegree[item]++;
+        }
+        int[] itemOffsets = new int[itemCount + 1];
+        for (int i = 0; i < itemCount; i++) {
+            itemOffsets[i + 1] = itemOffsets[i] + itemDegree[i];
+        }
+        int[] itemUsers = new int[userItems.length];
+        int[] cursor = itemOffsets.clone();
+        int userCount = userOffsets.length - 1;
+        for (int u = 0; u < userCount; u++) {
+            for (int p = userOffsets[u]; p < userOffsets[u + 1]; p++) {
+                itemUsers[cursor[userItems[p]]++] = u;
+            }
+        }
+
+        int[][] rowIds = new int[itemCount][];
+        float[][] rowScores = new float[itemCount][];
+        ThreadLocal<Accumulator> accumulators = ThreadLocal.withInitial(() -> new Accumulator(itemCount, maxNeighbours));
+
+        IntStream.range(0, itemCount).parallel().forEach(i -> {
+            Accumulator acc = accumulators.get();
+            for (int p = itemOffsets[i]; p < itemOffsets[i + 1]; p++) {
+                int u = itemUsers[p];
+                for (int q = userOffsets[u]; q < userOffsets[u + 1]; q++) {
+                    int j = userItems[q];
+                    if (j != i) {
+                        acc.increment(j);
+                    }
+                }
+            }
+            acc.select(i, itemDegree);
+            rowIds[i] = new int[acc.top.size()];
+            rowScores[i] = new float[rowIds[i].length];
+            acc.top.drainDescending(rowIds[i], rowScores[i], 0);
+        });
+
+        int[] offsets = new int[itemCount + 1];
+        for (int i = 0; i < itemCount; i++) {
+            offsets[i + 1] = offsets[i] + rowIds[i].length;
+        }
+        int[] neighbours = new int[offsets[itemCount]];
+        float[] scores = new float[offsets[itemCount]];
+        for (int i = 0; i < itemCount; i++) {
+            System.arraycopy(rowIds[i], 0, neighbours, offsets[i], rowIds[i].length);
+            System.arraycopy(rowScores[i], 0, scores, offsets[i], rowScores[i].length);
+        }
+        return new ItemSimilarityMatrix(data.itemIds.toArray(new String[0]), offsets, neighbours, scores);
+    }
+
+    /**
+     * Per-thread dense co-occurrence counter with a touched list so reset cost
+     * is proportional to the number of co-occurring items, not the catalog size.
+     */
+    private static final class Accumulator {
+        final int[] counts;
+        final IntArrayList touched = new IntArrayList(1024);
+        final TopK top;
+
+        Accumulator(int itemCount, int maxNeighbours) {
+            this.counts = new int[itemCount];
+            this.top = new TopK(maxNeighbours);
+        }
+
+        void increment(int item) {
+            if (counts[item]++ == 0) {
+                touched.add(item);
+            }
+        }
+
+        void select(int item, int[] itemDegree) {
+            top.clear();
+            double degree = itemDegree[item];
+            for (int t = 0; t < touched.size(); t++) {
+                int j = touched.get(t);
+                float similarity = (float) (counts[j] / Math.sqrt(degree * itemDegree[j]));
+                top.offer(j, similarity);
+                counts[j] = 0;
+            }
+            touched.clear();
+        }
+    }
+
+    private static final class PreferenceData {
+        final Map<String, Integer> itemIndex = new HashMap<>();
+        final List<String> itemIds = new ArrayList<>();
+        final IntArrayList userOffsets = new IntArrayList();
+        final IntArrayList userItems = new IntArrayList(1 << 16);
+
+        PreferenceData() {
+            userOffsets.add(0);
+        }
+
+        int internItem(String movieId) {
+            return itemIndex.computeIfAbsent(movieId, id -> {
+                itemIds.add(id);
+                return itemIds.size() - 1;
+            });
+        }
+
+        /**
+         * Appends one user's items, given oldest first. Over the cap, only the most recent distinct
+         * items are kept, so heavy users do not bias co-occurrence towards early-loaded titles.
+         */
+        void flushUser(IntArrayList items, int maxItemsPerUser) {
+            if (items.isEmpty()) {
+                return;
+            }
+            if (items.size() > maxItemsPerUser) {
+                keepMostRecent(items, maxItemsPerUser);
+            }
+            items.sortAndDedup();
+            for (int i = 0; i < items.size(); i++) {
+                userItems.add(items.get(i));
+            }
+            userOffsets.add(userItems.size());
+            items.clear();
+        }
+
+        private static void keepMostRecent(IntArrayList items, int limit) {
+            Set<Integer> kept = new HashSet<>(limit * 2);
+            for (int i = items.size() - 1; i >= 0 && kept.size() < limit; i--) {
+                kept.add(items.get(i));
+            }
+            items.clear();
+            for (int item : kept) {
+                items.add(item);
+            }
+        }
+
+        int userCount() {
+            return userOffsets.size() - 1;
+        }
+    }
+}
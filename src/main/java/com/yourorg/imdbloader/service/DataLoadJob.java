@@ -0,0 +1,123 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.config.DatabaseInitializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads the IMDb dumps (when configured) and then the movie catalog on a background thread,
+ * so the HTTP server and user-profile endpoints are available while a multi-hour load runs.
+ * Catalog endpoints stay unavailable until {@link #isCatalogReady()}.
+ */
+@Component
+public class DataLoadJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DataLoadJob.class);
+
+    public enum State { PENDING, LOADING_DUMPS, LOADING_CATALOG, READY, FAILED }
+
+    private final DatabaseInitializer databaseInitializer;
+    private final MovieCatalog movieCatalog;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "data-load");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicBoolean reloadQueued = new AtomicBoolean();
+
+    private volatile State state = State.PENDING;
+    private volatile String failure;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public DataLoadJob(DatabaseInitializer databaseInitializer, MovieCatalog movieCatalog) {
+        this.databaseInitializer = databaseInitializer;
+        this.movieCatalog = movieCatalog;
+    }
+
+    /**
+     * Starts the job once; later calls are ignored.
+     *
+     * @param dumpDirectory directory with the IMDb dumps, or null to only load the catalog
+     */
+    public synchronized void start(Path dumpDirectory) {
+        if (startedAt != null) {
+            return;
+        }
+        startedAt = Instant.now();
+        executor.execute(() -> run(dumpDirectory));
+    }
+
+    private void run(Path dumpDirectory) {
+        try {
+            if (dumpDirectory != null) {
+                state = State.LOADING_DUMPS;
+                databaseInitializer.init(dumpDirectory);
+            }
+            state = State.LOADING_CATALOG;
+            movieCatalog.reload();
+            finishedAt = Instant.now();
+            state = State.READY;
+            log.info("✅ Catalog ready, background data load took {} s", Duration.between(startedAt, finishedAt).toSeconds());
+        } catch (Exception e) {
+            failure = e.getMessage();
+            finishedAt = Instant.now();
+            state = State.FAILED;
+            log.error("❌ Background data load failed, catalog endpoints stay unavailable", e);
+        }
+    }
+
+    /**
+     * Reloads the catalog in the background, for data loaded by another node. Ignored until the
+     * first load has finished, and while a reload is already queued.
+     */
+    public void reloadCatalog() {
+        if (state != State.READY || !reloadQueued.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            reloadQueued.set(false);
+            try {
+                movieCatalog.reload();
+            } catch (Exception e) {
+                log.error("❌ Catalog reload failed, keeping the current catalog", e);
+            }
+        });
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public boolean isCatalogReady() {
+        return state == State.READY;
+    }
+
+    public String failure() {
+        return failure;
+    }
+
+    public Instant startedAt() {
+        return startedAt;
+    }
+
+    public Instant finishedAt() {
+        return finishedAt;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
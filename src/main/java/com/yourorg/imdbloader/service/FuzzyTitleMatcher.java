@@ -0,0 +1,119 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.index.FuzzyWordIndex;
+import com.yourorg.imdbloader.model.Movie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Typo-tolerant matching over primary titles and cast names ("intersteller", "shawshenk"),
+ * used by search when exact matching finds too little. Rebuilt with every catalog reload.
+ */
+@Service
+public class FuzzyTitleMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(FuzzyTitleMatcher.class);
+
+    private final boolean enabled;
+    private final int maxDistance;
+    private final int prefixLength;
+    private final int minResults;
+    private final int maxResults;
+
+    private volatile Built built;
+
+    public FuzzyTitleMatcher(@Value("${search.fuzzy.enabled:true}") boolean enabled,
+                             @Value("${search.fuzzy.max-distance:2}") int maxDistance,
+                             @Value("${search.fuzzy.prefix-length:7}") int prefixLength,
+                             @Value("${search.fuzzy.min-results:5}") int minResults,
+                             @Value("${search.fuzzy.max-results:20}") int maxResults) {
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.prefixLength = prefixLength;
+        this.minResults = minResults;
+        this.maxResults = maxResults;
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        MovieCatalog.Snapshot catalog = event.snapshot();
+        FuzzyWordIndex.Builder builder = new FuzzyWordIndex.Builder(maxDistance, prefixLength);
+        for (int i = 0; i < catalog.size(); i++) {
+            Movie movie = catalog.get(i);
+            builder.add(i, movie.getPrimaryTitle());
+            for (int a = 0; a < movie.actorCount(); a++) {
+                builder.add(i, movie.actor(a));
+            }
+        }
+        FuzzyWordIndex index = builder.build();
+        built = new Built(catalog.version(), index);
+        log.info("✅ Built fuzzy title index: {} words, {} delete keys in {} ms",
+                index.wordCount(), index.deleteKeyCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * True when the index matches the given catalog version, so fallback matches can be found.
+     */
+    public boolean isReady(MovieCatalog.Snapshot catalog) {
+        Built current = built;
+        return current != null && current.catalogVersion == catalog.version();
+    }
+
+    /**
+     * The exact results, followed by fuzzy matches not among them when there are fewer than
+     * {@code search.fuzzy.min-results}.
+     */
+    public List<Movie> withFallback(MovieCatalog.Snapshot catalog, String query, List<Movie> exact) {
+        if (exact.size() >= minResults) {
+            return exact;
+        }
+        List<Movie> fuzzy = search(catalog, query, maxResults + exact.size());
+        if (fuzzy.isEmpty()) {
+            return exact;
+        }
+        Set<Movie> seen = new HashSet<>(exact);
+        List<Movie> result = new ArrayList<>(exact);
+        for (Movie movie : fuzzy) {
+            if (result.size() - exact.size() >= maxResults) {
+                break;
+            }
+            if (seen.add(movie)) {
+                result.add(movie);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Catalog movies whose title or cast words are all within a small edit distance of the query
+     * words, closest first and most voted among equals. Empty when the index belongs to another
+     * catalog version.
+     */
+    public List<Movie> search(MovieCatalog.Snapshot catalog, String query, int limit) {
+        Built current = built;
+        if (current == null || current.catalogVersion != catalog.version()) {
+            return List.of();
+        }
+        int[] ordinals = current.index.search(query, limit, ordinal -> catalog.get(ordinal).getVotes())[0];
+        List<Movie> movies = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            movies.add(catalog.get(ordinal));
+        }
+        return movies;
+    }
+
+    private record Built(long catalogVersion, FuzzyWordIndex index) {
+    }
+}
@@ -1,16 +1,23 @@
 package com.yourorg.imdbloader.service;
 
+import com.yourorg.imdbloader.model.Dictionaries;
+import com.yourorg.imdbloader.model.StringDictionary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 @Service
 public class ImdbLoaderService {
@@ -18,27 +25,79 @@ public class ImdbLoaderService {
     private static final Logger log = LoggerFactory.getLogger(ImdbLoaderService.class);
     private static final int BATCH_SIZE = 1000;
 
-    public void loadImdbData(Path dataDir, Connection connection) throws SQLException {
+    /**
+     * Loads every dump present in {@code dataDir}, plain or gzipped, and reports ingest rate per table.
+     */
+    public List<TableLoad> loadImdbData(Path dataDir, Connection connection) throws SQLException {
         log.info("Starting IMDB data loading from directory: {}", dataDir);
-        
+        List<TableLoad> loads = new ArrayList<>();
+
         try {
             // Load data in order of dependencies
-            loadNameBasics(dataDir.resolve("name.basics.tsv"), connection);
-            loadTitleBasics(dataDir.resolve("title.basics.tsv"), connection);
-            loadTitlePrincipals(dataDir.resolve("title.principals.tsv"), connection);
-            loadTitleAkas(dataDir.resolve("title.akas.tsv"), connection);
-            
+            loads.add(timed("name_basics", () -> loadNameBasics(dataFile(dataDir, "name.basics.tsv"), connection)));
+            loads.add(timed("title_basics", () -> loadTitleBasics(dataFile(dataDir, "title.basics.tsv"), connection)));
+            loads.add(timed("title_principals", () -> loadTitlePrincipals(dataFile(dataDir, "title.principals.tsv"), connection)));
+            loads.add(timed("title_akas", () -> loadTitleAkas(dataFile(dataDir, "title.akas.tsv"), connection)));
+            loads.add(timed("title_crew", () -> loadTitleCrew(dataFile(dataDir, "title.crew.tsv"), connection)));
+            loads.add(timed("title_ratings", () -> loadTitleRatings(dataFile(dataDir, "title.ratings.tsv"), connection)));
+
+            for (TableLoad load : loads) {
+                log.info("📊 {}: {} rows in {} ms ({} rows/s)", load.table(), load.rows(), load.millis(),
+                        Math.round(load.rowsPerSecond()));
+            }
             log.info("✅ IMDB data loading completed successfully!");
+            return loads;
         } catch (Exception e) {
             log.error("❌ Error loading IMDB data", e);
             throw new SQLException("Failed to load IMDB data", e);
         }
     }
 
-    private void loadNameBasics(Path filePath, Connection conn) throws SQLException, IOException {
+    /**
+     * Resolves a dump by its plain name, falling back to the {@code .gz} file IMDb publishes.
+     * Returns the plain path when neither exists so callers report the expected name.
+     */
+    public static Path dataFile(Path dataDir, String fileName) {
+        Path plain = dataDir.resolve(fileName);
+        if (Files.exists(plain)) {
+            return plain;
+        }
+        Path gzipped = dataDir.resolve(fileName + ".gz");
+        return Files.exists(gzipped) ? gzipped : plain;
+    }
+
+    private static BufferedReader openReader(Path filePath) throws IOException {
+        if (filePath.getFileName().toString().endsWith(".gz")) {
+            return new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(filePath), 1 << 16), StandardCharsets.UTF_8), 1 << 16);
+        }
+        return Files.newBufferedReader(filePath, StandardCharsets.UTF_8);
+    }
+
+    private static TableLoad timed(String table, TableLoader loader) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long rows = loader.load();
+        return new TableLoad(table, rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @FunctionalInterface
+    private interface TableLoader {
+        long load() throws SQLException, IOException;
+    }
+
+    /**
+     * Rows ingested into one table and the wall time it took.
+     */
+    public record TableLoad(String table, long rows, long millis) {
+        public double rowsPerSecond() {
+            return millis == 0 ? rows : rows * 1000.0 / millis;
+        }
+    }
+
+    private long loadNameBasics(Path filePath, Connection conn) throws SQLException, IOException {
         if (!Files.exists(filePath)) {
             log.warn("⚠️ File not found: {}", filePath);
-            return;
+            return 0;
         }
 
         log.info("Loading name_basics from: {}", filePath);
@@ -50,19 +109,19 @@ public class ImdbLoaderService {
         """;
 
         try (PreparedStatement stmt = conn.prepareStatement(sql);
-             BufferedReader reader = Files.newBufferedReader(filePath)) {
+             BufferedReader reader = openReader(filePath)) {
             
             String line = reader.readLine(); // Skip header
             int count = 0;
             
             while ((line = reader.readLine()) != null) {
-                String[] fields = line.split("\t", -1);
+                String[] fields = splitTsv(line);
                 if (fields.length >= 6) {
                     stmt.setString(1, fields[0]); // nconst
                     stmt.setString(2, fields[1]); // primary_name
                     stmt.setObject(3, parseInteger(fields[2])); // birth_year
                     stmt.setObject(4, parseInteger(fields[3])); // death_year
-                    stmt.setString(5, fields[4]); // primary_profession
+                    stmt.setString(5, encodeTokens(Dictionaries.PROFESSIONS, fields[4])); // primary_profession
                     stmt.setString(6, fields[5]); // known_for_titles
                     
                     stmt.addBatch();
@@ -77,13 +136,14 @@ public class ImdbLoaderService {
             
             stmt.executeBatch(); // Execute remaining batch
             log.info("✅ Loaded {} name_basics records", count);
+            return count;
         }
     }
 
-    private void loadTitleBasics(Path filePath, Connection conn) throws SQLException, IOException {
+    private long loadTitleBasics(Path filePath, Connection conn) throws SQLException, IOException {
         if (!Files.exists(filePath)) {
             log.warn("⚠️ File not found: {}", filePath);
-            return;
+            return 0;
         }
 
         log.info("Loading title_basics from: {}", filePath);
@@ -96,23 +156,23 @@ public class ImdbLoaderService {
         """;
 
         try (PreparedStatement stmt = conn.prepareStatement(sql);
-             BufferedReader reader = Files.newBufferedReader(filePath)) {
+             BufferedReader reader = openReader(filePath)) {
             
             String line = reader.readLine(); // Skip header
             int count = 0;
             
             while ((line = reader.readLine()) != null) {
-                String[] fields = line.split("\t", -1);
+                String[] fields = splitTsv(line);
                 if (fields.length >= 9) {
                     stmt.setString(1, fields[0]); // tconst
-                    stmt.setString(2, fields[1]); // title_type
+                    stmt.setString(2, canonical(Dictionaries.TITLE_TYPES, fields[1])); // title_type
                     stmt.setString(3, fields[2]); // primary_title
                     stmt.setString(4, fields[3]); // original_title
                     stmt.setBoolean(5, "1".equals(fields[4])); // is_adult
                     stmt.setObject(6, parseInteger(fields[5])); // start_year
                     stmt.setObject(7, parseInteger(fields[6])); // end_year
                     stmt.setObject(8, parseInteger(fields[7])); // runtime_minutes
-                    stmt.setString(9, fields[8]); // genres
+                    stmt.setString(9, encodeTokens(Dictionaries.GENRES, fields[8])); // genres
                     
                     stmt.addBatch();
                     count++;
@@ -126,13 +186,14 @@ public class ImdbLoaderService {
             
             stmt.executeBatch(); // Execute remaining batch
             log.info("✅ Loaded {} title_basics records", count);
+            return count;
         }
     }
 
-    private void loadTitlePrincipals(Path filePath, Connection conn) throws SQLException, IOException {
+    private long loadTitlePrincipals(Path filePath, Connection conn) throws SQLException, IOException {
         if (!Files.exists(filePath)) {
             log.warn("⚠️ File not found: {}", filePath);
-            return;
+            return 0;
         }
 
         log.info("Loading title_principals from: {}", filePath);
@@ -144,18 +205,18 @@ public class ImdbLoaderService {
         """;
 
         try (PreparedStatement stmt = conn.prepareStatement(sql);
-             BufferedReader reader = Files.newBufferedReader(filePath)) {
+             BufferedReader reader = openReader(filePath)) {
             
             String line = reader.readLine(); // Skip header
             int count = 0;
             
             while ((line = reader.readLine()) != null) {
-                String[] fields = line.split("\t", -1);
+                String[] fields = splitTsv(line);
                 if (fields.length >= 6) {
                     stmt.setString(1, fields[0]); // tconst
                     stmt.setInt(2, Integer.parseInt(fields[1])); // ordering
                     stmt.setString(3, fields[2]); // nconst
-                    stmt.setString(4, fields[3]); // category
+                    stmt.setString(4, canonical(Dictionaries.CATEGORIES, fields[3])); // category
                     stmt.setString(5, fields[4]); // job
                     stmt.setString(6, fields[5]); // characters
                     
@@ -171,13 +232,14 @@ public class ImdbLoaderService {
             
             stmt.executeBatch(); // Execute remaining batch
             log.info("✅ Loaded {} title_principals records", count);
+            return count;
         }
     }
 
-    private void loadTitleAkas(Path filePath, Connection conn) throws SQLException, IOException {
+    private long loadTitleAkas(Path filePath, Connection conn) throws SQLException, IOException {
         if (!Files.exists(filePath)) {
             log.warn("⚠️ File not found: {}", filePath);
-            return;
+            return 0;
         }
 
         log.info("Loading title_akas from: {}", filePath);
@@ -189,19 +251,19 @@ public class ImdbLoaderService {
         """;
 
         try (PreparedStatement stmt = conn.prepareStatement(sql);
-             BufferedReader reader = Files.newBufferedReader(filePath)) {
+             BufferedReader reader = openReader(filePath)) {
             
             String line = reader.readLine(); // Skip header
             int count = 0;
             
             while ((line = reader.readLine()) != null) {
-                String[] fields = line.split("\t", -1);
+                String[] fields = splitTsv(line);
                 if (fields.length >= 8) {
                     stmt.setString(1, fields[0]); // title_id
                     stmt.setInt(2, Integer.parseInt(fields[1])); // ordering
                     stmt.setString(3, fields[2]); // title
-                    stmt.setString(4, fields[3]); // region
-                    stmt.setString(5, fields[4]); // language
+                    stmt.setString(4, canonical(Dictionaries.REGIONS, fields[3])); // region
+                    stmt.setString(5, canonical(Dictionaries.LANGUAGES, fields[4])); // language
                     stmt.setString(6, fields[5]); // types
                     stmt.setString(7, fields[6]); // attributes
                     stmt.setBoolean(8, "1".equals(fields[7])); // is_original_title
@@ -218,10 +280,141 @@ public class ImdbLoaderService {
             
             stmt.executeBatch(); // Execute remaining batch
             log.info("✅ Loaded {} title_akas records", count);
+            return count;
+        }
+    }
+
+    private long loadTitleCrew(Path filePath, Connection conn) throws SQLException, IOException {
+        if (!Files.exists(filePath)) {
+            log.warn("⚠️ File not found: {}", filePath);
+            return 0;
+        }
+
+        log.info("Loading title_crew from: {}", filePath);
+
+        String sql = """
+            INSERT INTO title_crew (tconst, directors, writers)
+            VALUES (?, ?, ?)
+            ON CONFLICT (tconst) DO NOTHING
+        """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             BufferedReader reader = openReader(filePath)) {
+
+            String line = reader.readLine(); // Skip header
+            int count = 0;
+
+            while ((line = reader.readLine()) != null) {
+                String[] fields = splitTsv(line);
+                if (fields.length >= 3) {
+                    stmt.setString(1, fields[0]); // tconst
+                    stmt.setString(2, nullIfMissing(fields[1])); // directors
+                    stmt.setString(3, nullIfMissing(fields[2])); // writers
+
+                    stmt.addBatch();
+                    count++;
+
+                    if (count % BATCH_SIZE == 0) {
+                        stmt.executeBatch();
+                        log.debug("Processed {} title_crew records", count);
+                    }
+                }
+            }
+
+            stmt.executeBatch(); // Execute remaining batch
+            log.info("✅ Loaded {} title_crew records", count);
+            return count;
+        }
+    }
+
+    private long loadTitleRatings(Path filePath, Connection conn) throws SQLException, IOException {
+        if (!Files.exists(filePath)) {
+            log.warn("⚠️ File not found: {}", filePath);
+            return 0;
+        }
+
+        log.info("Loading title_ratings from: {}", filePath);
+
+        String sql = """
+            INSERT INTO title_ratings (tconst, average_rating, num_votes)
+            VALUES (?, ?, ?)
+            ON CONFLICT (tconst) DO NOTHING
+        """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             BufferedReader reader = openReader(filePath)) {
+
+            String line = reader.readLine(); // Skip header
+            int count = 0;
+
+            while ((line = reader.readLine()) != null) {
+                String[] fields = splitTsv(line);
+                if (fields.length >= 3) {
+                    stmt.setString(1, fields[0]); // tconst
+                    stmt.setDouble(2, Double.parseDouble(fields[1])); // average_rating
+                    stmt.setInt(3, Integer.parseInt(fields[2])); // num_votes
+
+                    stmt.addBatch();
+                    count++;
+
+                    if (count % BATCH_SIZE == 0) {
+                        stmt.executeBatch();
+                        log.debug("Processed {} title_ratings records", count);
+                    }
+                }
+            }
+
+            stmt.executeBatch(); // Execute remaining batch
+            log.info("✅ Loaded {} title_ratings records", count);
+            return count;
+        }
+    }
+
+    // Low-cardinality columns share one String per distinct value instead of one per batched row
+    private static String canonical(StringDictionary dictionary, String value) {
+        return "\\N".equals(value) ? value : dictionary.canonical(value);
+    }
+
+    // Registers each value of a comma-separated column so codes exist before the catalog is built
+    private static String encodeTokens(StringDictionary dictionary, String value) {
+        if (!"\\N".equals(value)) {
+            int start = 0;
+            for (int end = value.indexOf(','); ; end = value.indexOf(',', start)) {
+                dictionary.encode(end < 0 ? value.substring(start) : value.substring(start, end));
+                if (end < 0) {
+                    break;
+                }
+                start = end + 1;
+            }
+        }
+        return value;
+    }
+
+    private static String nullIfMissing(String value) {
+        return "\\N".equals(value) ? null : value;
+    }
+
+    /**
+     * Splits one TSV line on tabs, keeping trailing empty fields like {@code split("\t", -1)}
+     * but without the regex fast-path checks and list growth.
+     */
+    public static String[] splitTsv(String line) {
+        int count = 1;
+        for (int i = line.indexOf('\t'); i >= 0; i = line.indexOf('\t', i + 1)) {
+            count++;
+        }
+        String[] fields = new String[count];
+        int start = 0;
+        for (int f = 0; f < count - 1; f++) {
+            int end = line.indexOf('\t', start);
+            fields[f] = line.substring(start, end);
+            start = end + 1;
         }
+        fields[count - 1] = line.substring(start);
+        return fields;
     }
 
-    private Integer parseInteger(String value) {
+    public static Integer parseInteger(String value) {
         if (value == null || value.trim().isEmpty() || "\\N".equals(value)) {
             return null;
         }
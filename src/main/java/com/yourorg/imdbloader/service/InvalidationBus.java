@@ -0,0 +1,353 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.repository.MovieRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cross-node cache invalidation over PostgreSQL {@code LISTEN/NOTIFY}, so instances behind a load
+ * balancer can cache per node without sticky sessions. Feedback on one node makes the others
+ * recompute that user's recommendations and change their ETag; a catalog load of a new dataset
+ * makes the others reload theirs.
+ *
+ * <p>One daemon thread owns a dedicated connection to the primary; a pooled one would lose its
+ * {@code LISTEN} when recycled. Events are collected and sent once per
+ * {@code invalidation.bus.coalesce-ms}, so a burst of feedback is one NOTIFY naming each user
+ * once. Payloads are a type line and its values: {@code "u\n<userId>\n<userId>"},
+ * {@code "d\n<datasetVersion>"}, or {@code "r"} for "assume every user changed".</p>
+ *
+ * <p>A lost connection is reopened with exponential backoff. Notifications sent meanwhile are
+ * gone, so after reconnecting every user's cached state is invalidated and the dataset version
+ * is checked against the database.</p>
+ */
+@Service
+public class InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private static final String USERS = "u";
+    private static final String DATASET = "d";
+    private static final String RESET = "r";
+    // PostgreSQL rejects payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final long INITIAL_BACKOFF_MS = 500;
+    // An idle connection is checked this often, so a dead one is noticed and replaced
+    private static final long HEARTBEAT_MS = 30_000;
+
+    private final DataSourceProperties dataSource;
+    private final RecommendationStore recommendationStore;
+    private final UserVersionTracker userVersions;
+    private final ReadYourWritesTracker readYourWrites;
+    private final MovieCatalog movieCatalog;
+    private final DataLoadJob dataLoadJob;
+    private final MovieRepository movieRepository;
+    private final boolean enabled;
+    private final String channel;
+    private final long coalesceMs;
+    private final long maxBackoffMs;
+    private final int maxPendingUsers;
+
+    private final Set<String> pendingUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong pendingDataset = new AtomicLong();
+    private final AtomicBoolean pendingReset = new AtomicBoolean();
+    private final Counter sent;
+    private final Counter received;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread thread;
+
+    public InvalidationBus(DataSourceProperties dataSource,
+                           RecommendationStore recommendationStore,
+                           UserVersionTracker userVersions,
+                           ReadYourWritesTracker readYourWrites,
+                           MovieCatalog movieCatalog,
+                           DataLoadJob dataLoadJob,
+                           MovieRepository movieRepository,
+                           MeterRegistry registry,
+                           @Value("${invalidation.bus.enabled:true}") boolean enabled,
+                           @Value("${invalidation.bus.channel:imdb_invalidation}") String channel,
+                           @Value("${invalidation.bus.coalesce-ms:50}") long coalesceMs,
+                           @Value("${invalidation.bus.max-backoff-ms:30000}") long maxBackoffMs,
+                           @Value("${invalidation.bus.max-pending-users:10000}") int maxPendingUsers) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("invalidation.bus.channel must be a lower-case SQL identifier: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.recommendationStore = recommendationStore;
+        this.userVersions = userVersions;
+        this.readYourWrites = readYourWrites;
+        this.movieCatalog = movieCatalog;
+        this.dataLoadJob = dataLoadJob;
+        this.movieRepository = movieRepository;
+        this.enabled = enabled && dataSource.determineUrl() != null
+                && dataSource.determineUrl().startsWith("jdbc:postgresql:");
+        this.channel = channel;
+        this.coalesceMs = Math.max(1, coalesceMs);
+        this.maxBackoffMs = Math.max(INITIAL_BACKOFF_MS, maxBackoffMs);
+        this.maxPendingUsers = maxPendingUsers;
+        this.sent = Counter.builder("invalidation.bus.notifications").tag("direction", "sent").register(registry);
+        this.received = Counter.builder("invalidation.bus.notifications").tag("direction", "received").register(registry);
+        Gauge.builder("invalidation.bus.connected", this, bus -> bus.connected ? 1 : 0)
+                .description("1 while the LISTEN connection is open")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("⏭️ Invalidation bus is off; caches are invalidated on this node only");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "invalidation-bus");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Tells the other nodes a user's feedback changed. Sent with the next batch.
+     */
+    public void userChanged(String userId) {
+        // Ids are newline-separated in the payload
+        if (!enabled || userId.indexOf('\n') >= 0) {
+            return;
+        }
+        if (pendingUsers.size() >= maxPendingUsers) {
+            // Too many to name one by one, typically while disconnected: invalidate everyone
+            pendingReset.set(true);
+            pendingUsers.clear();
+        } else {
+            pendingUsers.add(userId);
+        }
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        long datasetVersion = event.snapshot().datasetVersion();
+        if (enabled && datasetVersion > 0) {
+            pendingDataset.accumulateAndGet(datasetVersion, Math::max);
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private void run() {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = connect()) {
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                connected = true;
+                backoffMs = INITIAL_BACKOFF_MS;
+                if (reconnecting) {
+                    log.info("✅ Invalidation bus reconnected, invalidating what may have been missed");
+                    catchUp();
+                } else {
+                    log.info("✅ Invalidation bus listening on channel {}", channel);
+                }
+                reconnecting = true;
+                listen(connection, pg);
+            } catch (SQLException e) {
+                connected = false;
+                if (!running) {
+                    break;
+                }
+                log.warn("⚠️ Invalidation bus disconnected, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+            }
+        }
+        connected = false;
+    }
+
+    private void listen(Connection connection, PGConnection pg) throws SQLException {
+        long lastTraffic = System.currentTimeMillis();
+        try (PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)");
+             Statement heartbeat = connection.createStatement()) {
+            while (running) {
+                PGNotification[] notifications = pg.getNotifications((int) coalesceMs);
+                if (notifications != null && notifications.length > 0) {
+                    handle(notifications, pg.getBackendPID());
+                    lastTraffic = System.currentTimeMillis();
+                }
+                if (flush(notify)) {
+                    lastTraffic = System.currentTimeMillis();
+                } else if (System.currentTimeMillis() - lastTraffic > HEARTBEAT_MS) {
+                    heartbeat.execute("SELECT 1");
+                    lastTraffic = System.currentTimeMillis();
+                }
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        if (dataSource.determineUsername() != null) {
+            properties.setProperty("user", dataSource.determineUsername());
+        }
+        if (dataSource.determinePassword() != null) {
+            properties.setProperty("password", dataSource.determinePassword());
+        }
+        properties.setProperty("ApplicationName", "imdb-loader-invalidation-bus");
+        // Seconds; bounds the heartbeat on a connection whose peer vanished without a reset
+        properties.setProperty("socketTimeout", String.valueOf(2 * HEARTBEAT_MS / 1000));
+        return DriverManager.getConnection(dataSource.determineUrl(), properties);
+    }
+
+    /**
+     * Sends everything pending; returns whether anything was sent.
+     */
+    private boolean flush(PreparedStatement notify) throws SQLException {
+        int notifications = 0;
+        try {
+            if (pendingReset.getAndSet(false)) {
+                pendingUsers.clear();
+                notifications += send(notify, RESET);
+            }
+            long datasetVersion = pendingDataset.getAndSet(0);
+            if (datasetVersion > 0) {
+                notifications += send(notify, DATASET + "\n" + datasetVersion);
+            }
+            StringBuilder payload = new StringBuilder(USERS);
+            int bytes = USERS.length();
+            for (Iterator<String> it = pendingUsers.iterator(); it.hasNext(); ) {
+                String userId = it.next();
+                it.remove();
+                int length = userId.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (bytes + length > MAX_PAYLOAD_BYTES) {
+                    notifications += send(notify, payload.toString());
+                    payload.setLength(USERS.length());
+                    bytes = USERS.length();
+                }
+                payload.append('\n').append(userId);
+                bytes += length;
+            }
+            if (payload.length() > USERS.length()) {
+                notifications += send(notify, payload.toString());
+            }
+        } catch (SQLException e) {
+            // Whatever was taken off the queue is lost; the other nodes must assume the worst
+            pendingReset.set(true);
+            throw e;
+        }
+        return notifications > 0;
+    }
+
+    private int send(PreparedStatement notify, String payload) throws SQLException {
+        notify.setString(1, channel);
+        notify.setString(2, payload);
+        notify.execute();
+        sent.increment();
+        return 1;
+    }
+
+    private void handle(PGNotification[] notifications, int ownPid) {
+        Set<String> users = new HashSet<>();
+        long datasetVersion = 0;
+        boolean reset = false;
+        for (PGNotification notification : notifications) {
+            if (notification.getPID() == ownPid) {
+                continue; // sent by this node
+            }
+            received.increment();
+            String[] lines = notification.getParameter().split("\n");
+            switch (lines[0]) {
+                case USERS -> users.addAll(Arrays.asList(lines).subList(1, lines.length));
+                case DATASET -> datasetVersion = Math.max(datasetVersion, parseVersion(lines));
+                case RESET -> reset = true;
+                default -> log.debug("Ignoring unknown invalidation event type {}", lines[0]);
+            }
+        }
+        if (reset) {
+            invalidateAllUsers();
+        } else {
+            users.forEach(this::invalidateUser);
+        }
+        if (datasetVersion > 0) {
+            checkDataset(datasetVersion);
+        }
+    }
+
+    private void invalidateUser(String userId) {
+        // The write went to the primary; replicas may not have it yet
+        readYourWrites.recordWrite(userId);
+        recommendationStore.markDirty(userId);
+        userVersions.bump(userId);
+    }
+
+    private void invalidateAllUsers() {
+        recommendationStore.markAllDirty();
+        userVersions.bumpAll();
+    }
+
+    private void catchUp() {
+        invalidateAllUsers();
+        try {
+            checkDataset(movieRepository.datasetVersion());
+        } catch (Exception e) {
+            log.warn("⚠️ Could not check the dataset version after reconnecting: {}", e.getMessage());
+        }
+    }
+
+    private void checkDataset(long datasetVersion) {
+        long loaded = movieCatalog.current().datasetVersion();
+        if (datasetVersion > 0 && datasetVersion != loaded) {
+            log.info("🔄 Dataset version {} was loaded elsewhere (this node has {}), reloading the catalog",
+                    datasetVersion, loaded);
+            dataLoadJob.reloadCatalog();
+        }
+    }
+
+    private static long parseVersion(String[] lines) {
+        try {
+            return lines.length > 1 ? Long.parseLong(lines[1]) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.model.Genres;
+import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.repository.MovieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory movie catalog shared by search, recommendation and index builders.
+ * Each reload swaps in an immutable snapshot with a new dataset version and dense
+ * ordinals (0..n-1) that indexes can use instead of string ids.
+ */
+@Component
+public class MovieCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieCatalog.class);
+
+    private final MovieRepository movieRepository;
+    private final CatalogSnapshotStore snapshotStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile Snapshot current = new Snapshot(0, 0, List.of());
+
+    public MovieCatalog(MovieRepository movieRepository, CatalogSnapshotStore snapshotStore,
+                        ApplicationEventPublisher eventPublisher) {
+        this.movieRepository = movieRepository;
+        this.snapshotStore = snapshotStore;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Reloads the catalog and notifies index builders. Uses the binary snapshot when it matches the
+     * loaded dataset, otherwise queries the repository and writes a fresh snapshot.
+     * The first load is run by {@link DataLoadJob} once the dumps are in the database.
+     */
+    public synchronized Snapshot reload() {
+        long start = System.currentTimeMillis();
+        List<Movie> movies = null;
+        String source = "database";
+        long datasetVersion = movieRepository.datasetVersion();
+        if (snapshotStore.isEnabled()) {
+            String settings = movieRepository.catalogSettings();
+            movies = snapshotStore.read(datasetVersion, settings, movieRepository::findAllPlots);
+            if (movies != null) {
+                source = "snapshot";
+            } else {
+                movies = movieRepository.findAllMovies();
+                snapshotStore.write(movies, datasetVersion, settings);
+            }
+        } else {
+            movies = movieRepository.findAllMovies();
+        }
+        Snapshot snapshot = new Snapshot(versions.incrementAndGet(), datasetVersion, movies);
+        current = snapshot;
+        log.info("✅ Catalog version {} loaded from {} with {} movies in {} ms",
+                snapshot.version(), source, snapshot.size(), System.currentTimeMillis() - start);
+        eventPublisher.publishEvent(new CatalogReloadedEvent(snapshot));
+        return snapshot;
+    }
+
+    public Snapshot current() {
+        return current;
+    }
+
+    /**
+     * Immutable view of one catalog version.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final long datasetVersion;
+        private final List<Movie> movies;
+        private final Map<String, Integer> ordinals;
+        private final long fingerprint;
+
+        Snapshot(long version, long datasetVersion, List<Movie> movies) {
+            this.version = version;
+            this.datasetVersion = datasetVersion;
+            this.movies = Collections.unmodifiableList(movies);
+            this.ordinals = new HashMap<>(movies.size() * 2);
+            long hash = 1125899906842597L;
+            for (int i = 0; i < movies.size(); i++) {
+                Movie movie = movies.get(i);
+                ordinals.put(movie.getId(), i);
+                hash = 31 * hash + movie.getId().hashCode();
+                hash = 31 * hash + Objects.hashCode(movie.getPrimaryTitle());
+                hash = 31 * hash + movie.getVotes();
+                hash = 31 * hash + Double.hashCode(movie.getRating());
+                hash = 31 * hash + movie.getYear();
+                // Genre names, not codes: codes depend on dictionary load order
+                hash = 31 * hash + Genres.names(movie.getGenreMask()).hashCode();
+                for (int a = 0; a < movie.actorCount(); a++) {
+                    hash = 31 * hash + movie.actor(a).hashCode();
+                }
+                hash = 31 * hash + Objects.hashCode(movie.getPlot());
+            }
+            this.fingerprint = hash;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        /**
+         * The {@code imdb_dataset} version in the database when this catalog was read; unlike
+         * {@link #version()} it is the same on every node that loaded the same data.
+         */
+        public long datasetVersion() {
+            return datasetVersion;
+        }
+
+        /**
+         * Content hash of every field indexes and responses are built from (ids, titles, votes,
+         * ratings, years, genres, cast and plots), stable across restarts and equal on every node
+         * with the same data. Used to detect stale on-disk index snapshots and in dataset ETags.
+         */
+        public long fingerprint() {
+            return fingerprint;
+        }
+
+        public List<Movie> movies() {
+            return movies;
+        }
+
+        public int size() {
+            return movies.size();
+        }
+
+        public Movie get(int ordinal) {
+            return movies.get(ordinal);
+        }
+
+        public Movie get(String id) {
+            Integer ordinal = ordinals.get(id);
+            return ordinal == null ? null : movies.get(ordinal);
+        }
+
+        public int ordinalOf(String id) {
+            Integer ordinal = ordinals.get(id);
+            return ordinal == null ? -1 : ordinal;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.index.HnswIndex;
+import com.yourorg.imdbloader.index.MovieFeatureEncoder;
+import com.yourorg.imdbloader.index.TopK;
+import com.yourorg.imdbloader.model.Movie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Dense movie embeddings plus an HNSW index over them.
+ * Built when the catalog loads, or restored from a snapshot file when it matches the catalog.
+ */
+@Service
+public class MovieEmbeddingIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieEmbeddingIndex.class);
+
+    private final boolean enabled;
+    private final String snapshotPath;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final int candidates;
+    private final boolean benchmarkOnBuild;
+
+    private volatile State state;
+
+    public MovieEmbeddingIndex(@Value("${recommender.ann.enabled:true}") boolean enabled,
+                               @Value("${recommender.ann.snapshot-path:#{null}}") String snapshotPath,
+                               @Value("${recommender.ann.m:16}") int m,
+                               @Value("${recommender.ann.ef-construction:200}") int efConstruction,
+                               @Value("${recommender.ann.ef-search:100}") int efSearch,
+                               @Value("${recommender.ann.candidates:500}") int candidates,
+                               @Value("${recommender.ann.benchmark-on-build:false}") boolean benchmarkOnBuild) {
+        this.enabled = enabled;
+        this.snapshotPath = snapshotPath;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.candidates = candidates;
+        this.benchmarkOnBuild = benchmarkOnBuild;
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        MovieCatalog.Snapshot catalog = event.snapshot();
+        long start = System.currentTimeMillis();
+        MovieFeatureEncoder encoder = MovieFeatureEncoder.fit(catalog.movies());
+
+        HnswIndex index = loadSnapshot(catalog.fingerprint(), encoder.dimension());
+        if (index == null) {
+            index = new HnswIndex(encoder.dimension(), catalog.size(), m, efConstruction);
+            for (Movie movie : catalog.movies()) {
+                index.add(encoder.encode(movie));
+            }
+            log.info("✅ Built HNSW index over {} movies (dim {}) in {} ms",
+                    index.size(), encoder.dimension(), System.currentTimeMillis() - start);
+            saveSnapshot(index, catalog.fingerprint());
+        } else {
+            log.info("✅ Loaded HNSW index snapshot with {} movies in {} ms",
+                    index.size(), System.currentTimeMillis() - start);
+        }
+        state = new State(catalog, encoder, index);
+
+        if (benchmarkOnBuild) {
+            benchmark(200, 10, 5);
+        }
+    }
+
+    /**
+     * True when the index matches the given catalog version and can be queried.
+     */
+    public boolean isReady(MovieCatalog.Snapshot catalog) {
+        State s = state;
+        return s != null && s.catalog.version() == catalog.version();
+    }
+
+    /**
+     * Top-K candidate movies for the aggregated taste vector of the liked movies.
+     */
+    public List<Movie> candidatesFor(Collection<String> likedMovieIds, int k) {
+        State s = state;
+        if (s == null) {
+            return List.of();
+        }
+        List<float[]> liked = new ArrayList<>();
+        for (String id : likedMovieIds) {
+            int ordinal = s.catalog.ordinalOf(id);
+            if (ordinal >= 0) {
+                liked.add(s.index.vector(ordinal));
+            }
+        }
+        if (liked.isEmpty()) {
+            return List.of();
+        }
+        float[] taste = MovieFeatureEncoder.centroid(liked, s.encoder.dimension());
+        HnswIndex.Result result = s.index.search(taste, k + liked.size(), Math.max(efSearch, k));
+        List<Movie> candidates = new ArrayList<>(result.ids().length);
+        for (int id : result.ids()) {
+            candidates.add(s.catalog.get(id));
+        }
+        return candidates;
+    }
+
+    /**
+     * Measures recall@k of the recommendation candidate pipeline against exact scoring, and
+     * queries per second for both. Each query is the taste centroid of {@code historySize} random
+     * catalog movies, so it is not a vector in the index. Exact ranks the whole catalog with
+     * {@link MovieSimilarity#calculateSimilarityScore}; the pipeline rescores the top
+     * {@code recommender.ann.candidates} HNSW neighbours with the same scorer. Scores tie often,
+     * so a pipeline result is a hit when it scores at least the k-th exact score.
+     */
+    public BenchmarkResult benchmark(int queries, int k, int historySize) {
+        State s = state;
+        if (s == null || s.index.size() <= k + historySize) {
+            return new BenchmarkResult(0, 0, 0, 0);
+        }
+        SplittableRandom random = new SplittableRandom(7);
+        long annNanos = 0;
+        long exactNanos = 0;
+        long hits = 0;
+        long total = 0;
+        for (int q = 0; q < queries; q++) {
+            Set<String> liked = new HashSet<>();
+            while (liked.size() < historySize) {
+                liked.add(s.catalog.get(random.nextInt(s.catalog.size())).getId());
+            }
+
+            long exactStart = System.nanoTime();
+            float[] exact = topScores(s.catalog.movies(), liked, k);
+            exactNanos += System.nanoTime() - exactStart;
+
+            long annStart = System.nanoTime();
+            float[] approximate = topScores(candidatesFor(liked, candidates), liked, k);
+            annNanos += System.nanoTime() - annStart;
+
+            float kth = exact[exact.length - 1];
+            total += exact.length;
+            for (float score : approximate) {
+                if (score >= kth) {
+                    hits++;
+                }
+            }
+        }
+        BenchmarkResult result = new BenchmarkResult(
+                total == 0 ? 1.0 : hits / (double) total,
+                queries / (annNanos / 1e9),
+                queries / (exactNanos / 1e9),
+                queries);
+        log.info("📈 Recommendation recall@{} = {} with {} HNSW candidates, ANN {} qps, exact {} qps over {} queries",
+                k, String.format("%.3f", result.recall()), candidates, String.format("%.0f", result.annQps()),
+                String.format("%.0f", result.exactQps()), queries);
+        return result;
+    }
+
+    /**
+     * Best k scores of the movies for a liked set, descending, as the recommender computes them.
+     */
+    private float[] topScores(List<Movie> movies, Set<String> likedIds, int k) {
+        State s = state;
+        long likedGenres = 0;
+        Set<String> likedActors = new HashSet<>();
+        for (String id : likedIds) {
+            Movie liked = s.catalog.get(id);
+            likedGenres |= liked.getGenreMask();
+            for (int a = 0; a < liked.actorCount(); a++) {
+                likedActors.add(liked.actor(a));
+            }
+        }
+        TopK top = new TopK(k);
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            if (!likedIds.contains(movie.getId())) {
+                top.offer(i, (float) MovieSimilarity.calculateSimilarityScore(movie, likedGenres, likedActors));
+            }
+        }
+        float[] scores = new float[top.size()];
+        top.drainDescending(new int[scores.length], scores, 0);
+        return scores;
+    }
+
+    private HnswIndex loadSnapshot(long fingerprint, int dimension) {
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return null;
+        }
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            HnswIndex index = HnswIndex.readFrom(in, fingerprint);
+            if (index == null || index.dimension() != dimension) {
+                log.info("HNSW snapshot {} is stale, rebuilding", path);
+                return null;
+            }
+            return index;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read HNSW snapshot {}, rebuilding: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveSnapshot(HnswIndex index, long fingerprint) {
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return;
+        }
+        Path path = Paths.get(snapshotPath);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                index.writeTo(out, fingerprint);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("💾 Wrote HNSW snapshot to {}", path);
+        } catch (IOException e) {
+            log.warn("Could not write HNSW snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    public record BenchmarkResult(double recall, double annQps, double exactQps, int queries) {
+    }
+
+    private record State(MovieCatalog.Snapshot catalog, MovieFeatureEncoder encoder, HnswIndex index) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.dto.FacetedSearchResponse;
+import com.yourorg.imdbloader.dto.SearchFilter;
+import com.yourorg.imdbloader.index.FacetIndex;
+import com.yourorg.imdbloader.index.RoaringBitmap;
+import com.yourorg.imdbloader.model.Dictionaries;
+import com.yourorg.imdbloader.model.Movie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet filters and counts for movie search, evaluated on the {@link FacetIndex} bitmaps of the
+ * current catalog. Rebuilt with every catalog reload.
+ *
+ * <p>Counts are disjunctive: each facet is counted with every filter applied except its own, so
+ * a client can show how many results picking another decade or rating would give. Genre counts
+ * keep the genre filter when it requires all genres, since picking one more narrows instead.</p>
+ */
+@Service
+public class MovieFacets {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieFacets.class);
+
+    private volatile Built built;
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        indexFor(event.snapshot());
+    }
+
+    /**
+     * Applies the filter to search matches and optionally counts facets.
+     *
+     * @param matches search results in rank order, or null for the whole catalog in catalog order
+     * @param limit   most movies to return; {@code total} still counts all of them
+     */
+    public FacetedSearchResponse filter(MovieCatalog.Snapshot catalog, List<Movie> matches, SearchFilter filter,
+                                        boolean withFacets, int limit) {
+        FacetIndex index = indexFor(catalog);
+        // Null stands for the whole catalog, saving an AND with every filter
+        RoaringBitmap base = matches == null ? null : ordinals(catalog, matches);
+        RoaringBitmap genres = filter.getGenres().isEmpty() ? null
+                : index.genres(genreMask(filter.getGenres(), filter.isAllGenres()), filter.isAllGenres());
+        RoaringBitmap years = filter.hasYears()
+                ? index.years(orZero(filter.getYearFrom()), orZero(filter.getYearTo())) : null;
+        RoaringBitmap rating = filter.getMinRating() == null ? null : index.ratingAtLeast(filter.getMinRating());
+        RoaringBitmap votes = filter.getMinVotes() == null ? null : index.votesAtLeast(filter.getMinVotes());
+        RoaringBitmap result = and(index, base, genres, years, rating, votes);
+
+        List<Movie> movies = new ArrayList<>();
+        if (matches == null) {
+            result.forEach(ordinal -> {
+                if (movies.size() < limit) {
+                    movies.add(catalog.get(ordinal));
+                }
+            });
+        } else {
+            for (Movie movie : matches) {
+                if (movies.size() >= limit) {
+                    break;
+                }
+                if (result.contains(catalog.ordinalOf(movie.getId()))) {
+                    movies.add(movie);
+                }
+            }
+        }
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        if (withFacets) {
+            facets.put("genres", index.genreCounts(and(index, base, filter.isAllGenres() ? genres : null, years, rating, votes)));
+            facets.put("decades", index.decadeCounts(and(index, base, genres, null, rating, votes)));
+            facets.put("ratings", index.ratingCounts(and(index, base, genres, years, null, votes)));
+            facets.put("votes", index.votesCounts(and(index, base, genres, years, rating, null)));
+        }
+        return new FacetedSearchResponse(result.cardinality(), movies, facets);
+    }
+
+    /**
+     * The bitmaps for the catalog version, built once by whichever of the reload event or a search
+     * between the catalog swap and that event gets here first; the others wait for it.
+     */
+    private FacetIndex indexFor(MovieCatalog.Snapshot catalog) {
+        Built current = built;
+        if (current != null && current.catalogVersion == catalog.version()) {
+            return current.index;
+        }
+        synchronized (this) {
+            current = built;
+            if (current != null && current.catalogVersion >= catalog.version()) {
+                // A search still holding a replaced catalog must not overwrite the newer index
+                return current.catalogVersion == catalog.version() ? current.index : new FacetIndex(catalog.movies());
+            }
+            long start = System.currentTimeMillis();
+            FacetIndex index = new FacetIndex(catalog.movies());
+            built = new Built(catalog.version(), index);
+            log.info("✅ Built facet bitmaps: {} bitmaps, {} KB in {} ms",
+                    index.bitmapCount(), index.sizeInBytes() / 1024, System.currentTimeMillis() - start);
+            return index;
+        }
+    }
+
+    private static RoaringBitmap ordinals(MovieCatalog.Snapshot catalog, List<Movie> movies) {
+        int[] ordinals = new int[movies.size()];
+        int n = 0;
+        for (Movie movie : movies) {
+            int ordinal = catalog.ordinalOf(movie.getId());
+            if (ordinal >= 0) {
+                ordinals[n++] = ordinal;
+            }
+        }
+        Arrays.sort(ordinals, 0, n);
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < n; i++) {
+            bitmap.add(ordinals[i]);
+        }
+        return bitmap;
+    }
+
+    private static RoaringBitmap and(FacetIndex index, RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result = result == null ? filter : RoaringBitmap.and(result, filter);
+            }
+        }
+        return result == null ? index.all() : result;
+    }
+
+    /**
+     * Genre names matched case-insensitively against the dictionary. An unknown genre matches no
+     * movie, so with {@code matchAll} it empties the result; with any-of matching it is skipped.
+     */
+    private static long genreMask(List<String> names, boolean matchAll) {
+        long mask = 0;
+        for (String name : names) {
+            int code = -1;
+            for (int c = 0; c < Dictionaries.GENRES.size() && code < 0; c++) {
+                if (Dictionaries.GENRES.decode(c).equalsIgnoreCase(name.trim())) {
+                    code = c;
+                }
+            }
+            if (code < 0 && matchAll) {
+                return 0;
+            }
+            mask |= code < 0 ? 0 : 1L << code;
+        }
+        return mask;
+    }
+
+    private static int orZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private record Built(long catalogVersion, FacetIndex index) {
+    }
+}
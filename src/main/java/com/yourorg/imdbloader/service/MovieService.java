@@ -1,15 +1,28 @@
 package com.yourorg.imdbloader.service;
 
+import com.yourorg.imdbloader.dto.FacetedSearchResponse;
 import com.yourorg.imdbloader.dto.MovieDto;
+import com.yourorg.imdbloader.dto.SearchFilter;
+import com.yourorg.imdbloader.index.TextFolding;
+import com.yourorg.imdbloader.index.TopK;
+import com.yourorg.imdbloader.model.Dictionaries;
 import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.model.ParsedQuery;
+import com.yourorg.imdbloader.model.ScoredMovie;
 import com.yourorg.imdbloader.repository.MovieRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,11 +30,36 @@ public class MovieService {
 
     private final MovieRepository movieRepository;
     private final OmdbClient omdbClient;
+    private final MovieCatalog movieCatalog;
+    private final SimilarMoviesIndex similarMoviesIndex;
+    private final ActorGraphService actorGraphService;
+    private final AkaSearchService akaSearchService;
+    private final FuzzyTitleMatcher fuzzyTitleMatcher;
+    private final MovieFacets movieFacets;
+    private final Timer searchTimer;
+    private final Timer facetTimer;
+    private volatile FoldedTitles foldedTitles;
     private static final Logger log = LoggerFactory.getLogger(MovieService.class);
 
-    public MovieService(MovieRepository movieRepository, OmdbClient omdbClient) {
+    // Votes from which a movie counts as well known: its own rating dominates, and it is no hidden gem
+    private static final int WELL_KNOWN_VOTES = 25_000;
+    private static final double AVERAGE_RATING = 6.5;
+    private static final double HIDDEN_GEM_MIN_RATING = 7.0;
+
+    public MovieService(MovieRepository movieRepository, OmdbClient omdbClient, MovieCatalog movieCatalog,
+                        SimilarMoviesIndex similarMoviesIndex, ActorGraphService actorGraphService,
+                        AkaSearchService akaSearchService, FuzzyTitleMatcher fuzzyTitleMatcher,
+                        MovieFacets movieFacets, MeterRegistry registry) {
         this.movieRepository = movieRepository;
         this.omdbClient = omdbClient;
+        this.movieCatalog = movieCatalog;
+        this.similarMoviesIndex = similarMoviesIndex;
+        this.actorGraphService = actorGraphService;
+        this.akaSearchService = akaSearchService;
+        this.fuzzyTitleMatcher = fuzzyTitleMatcher;
+        this.movieFacets = movieFacets;
+        this.searchTimer = Timer.builder("movies.search").register(registry);
+        this.facetTimer = Timer.builder("movies.search.facets").register(registry);
     }
 
     public void testLogging() {
@@ -31,118 +69,259 @@ public class MovieService {
     }
 
     /**
-     * Returns top movies by actor with plots fetched from OMDb.
+     * Returns an actor's most voted catalog movies, fetching plots the catalog does not have yet from OMDb.
+     * All plot lookups are issued concurrently, so latency is roughly one round trip.
      */
-    public List<MovieDto> getTopMoviesWithPlot(String actor, int limit) {
-        log.info("Fetching top {} movies for actor: {}", limit, actor);
-        List<Map<String, Object>> results = movieRepository.findTopMoviesByActor(actor, limit);
-        log.info("Found {} movies for actor: {}", results.size(), actor);
-        
-        return results.stream()
-                .map(row -> {
-                    String title = (String) row.get("title");
-                    double rating = (double) row.getOrDefault("rating", 0.0);
-                    int votes = ((Number) row.getOrDefault("votes", 0)).intValue();
-                    String imdbId = (String) row.get("tconst");
-
-                    log.info("Processing movie: {} ({})", title, imdbId);
-
-                    String plot = omdbClient.fetchPlotById(imdbId);
-
-                    return new MovieDto(title, rating, votes, plot);
-                })
+    public List<MovieDto> getTopMoviesWithPlot(String nconst, int limit) {
+        log.info("Fetching top {} movies for actor: {}", limit, nconst);
+        List<Movie> movies = actorGraphService.moviesOf(nconst, limit);
+        if (movies == null) {
+            return List.of();
+        }
+        log.info("Found {} movies for actor: {}", movies.size(), nconst);
+
+        List<String> missingPlots = movies.stream()
+                .filter(movie -> movie.getPlot() == null)
+                .map(Movie::getId)
+                .collect(Collectors.toList());
+        Map<String, String> plots = missingPlots.isEmpty() ? Map.of() : omdbClient.fetchPlots(missingPlots).join();
+
+        return movies.stream()
+                .map(movie -> new MovieDto(movie.getPrimaryTitle(), movie.getRating(), movie.getVotes(),
+                        movie.getPlot() != null ? movie.getPlot() : plots.get(movie.getId())))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Get all movies - mock implementation
+     * Identifies the loaded catalog content: the dataset version plus the catalog fingerprint.
+     * Nodes that loaded the same data with the same settings report the same value.
+     */
+    public String datasetVersion() {
+        MovieCatalog.Snapshot catalog = movieCatalog.current();
+        return catalog.datasetVersion() + "-" + Long.toUnsignedString(catalog.fingerprint(), 36);
+    }
+
+    /**
+     * Whether search already includes typo-tolerant fallback matches for the current catalog
+     */
+    public boolean isFuzzyIndexReady() {
+        return fuzzyTitleMatcher.isReady(movieCatalog.current());
+    }
+
+    /**
+     * Get all movies from the in-memory catalog
      */
     public List<Movie> getAllMovies() {
-        log.info("Fetching all movies");
-        return getMockMovies();
+        log.debug("Fetching all movies");
+        return movieCatalog.current().movies();
     }
 
     /**
-     * Get movie by ID - mock implementation
+     * Get movie by ID from the in-memory catalog
      */
     public Movie getMovieById(String id) {
-        log.info("Fetching movie with ID: {}", id);
-        return getMockMovies().stream()
-                .filter(movie -> movie.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        log.debug("Fetching movie with ID: {}", id);
+        return movieCatalog.current().get(id);
     }
 
     /**
-     * Search movies by query - mock implementation
+     * "More like this" - served from precomputed per-movie neighbour lists
+     */
+    public List<ScoredMovie> getSimilarMovies(String id, int limit) {
+        List<ScoredMovie> similar = similarMoviesIndex.similarTo(id, limit);
+        return similar != null ? similar : List.of();
+    }
+
+    /**
+     * Search narrowed by facet filters, with facet counts when asked for. A blank query filters
+     * the whole catalog, in catalog order; otherwise matches keep their search ranking.
+     */
+    public FacetedSearchResponse searchMovies(String query, String region, String language, SearchFilter filter,
+                                              boolean withFacets, int limit) {
+        MovieCatalog.Snapshot catalog = movieCatalog.current();
+        List<Movie> matches = query == null || query.isBlank() ? null : searchMovies(query, region, language);
+        return facetTimer.record(() -> movieFacets.filter(catalog, matches, filter, withFacets, limit));
+    }
+
+    /**
+     * Movies satisfying a parsed request: all of its genres, its year range and every named actor,
+     * whose cast lists come from the actor graph. Ranked by the request's {@link ParsedQuery.Quality},
+     * with titles containing a leftover word first. Hidden gems are movies below
+     * {@link #WELL_KNOWN_VOTES} votes rated at least 7, by weighted rating.
+     */
+    public List<Movie> findMovies(ParsedQuery query, int limit) {
+        MovieCatalog.Snapshot catalog = movieCatalog.current();
+        List<Movie> candidates = null;
+        for (String nconst : query.actorIds()) {
+            List<Movie> movies = actorGraphService.moviesOf(nconst, Integer.MAX_VALUE);
+            Set<Movie> filmography = movies == null ? Set.of() : new HashSet<>(movies);
+            candidates = candidates == null
+                    ? new ArrayList<>(filmography)
+                    : candidates.stream().filter(filmography::contains).collect(Collectors.toList());
+        }
+        if (candidates == null) {
+            candidates = catalog.movies();
+        }
+        if (candidates.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        String[] words = query.text().isEmpty() ? new String[0] : query.text().split(" ");
+        String[] titles = foldedTitles(catalog);
+        TopK top = new TopK(Math.min(limit, candidates.size()));
+        for (int i = 0; i < candidates.size(); i++) {
+            Movie movie = candidates.get(i);
+            if (!query.matches(movie)) {
+                continue;
+            }
+            float score;
+            switch (query.quality()) {
+                case TOP_RATED -> score = (float) weightedRating(movie);
+                case HIDDEN_GEMS -> {
+                    if (movie.getVotes() > WELL_KNOWN_VOTES || movie.getRating() < HIDDEN_GEM_MIN_RATING) {
+                        continue;
+                    }
+                    score = (float) weightedRating(movie);
+                }
+                default -> score = (float) Math.log1p(movie.getVotes());
+            }
+            if (words.length > 0 && containsAny(titleOf(catalog, titles, movie), words)) {
+                score += 100; // ranks above any rating or vote score
+            }
+            top.offer(i, score);
+        }
+        int[] ids = new int[top.size()];
+        top.drainDescending(ids, new float[ids.length], 0);
+        List<Movie> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(candidates.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * IMDb-style weighted rating: the movie's rating pulled towards an average one until its
+     * votes outnumber {@link #WELL_KNOWN_VOTES}, so a 9.5 from a few hundred votes does not top the list.
+     */
+    private static double weightedRating(Movie movie) {
+        double votes = movie.getVotes();
+        return (votes * movie.getRating() + WELL_KNOWN_VOTES * AVERAGE_RATING) / (votes + WELL_KNOWN_VOTES);
+    }
+
+    private static boolean containsAny(String title, String[] words) {
+        for (String word : words) {
+            if (title.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Movies whose title contains the whole query as consecutive words, after {@link TextFolding}:
+     * "war of the worlds" finds "War of the Worlds" however the query would parse. Exact titles
+     * first, then most voted.
+     */
+    public List<Movie> findByTitle(String query, int limit) {
+        String phrase = String.join(" ", TextFolding.tokens(query));
+        if (phrase.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        MovieCatalog.Snapshot catalog = movieCatalog.current();
+        String[] titles = foldedTitles(catalog);
+        String padded = " " + phrase + " ";
+        List<Movie> matches = new ArrayList<>();
+        for (int i = 0; i < titles.length; i++) {
+            if ((" " + titles[i] + " ").contains(padded)) {
+                matches.add(catalog.get(i));
+            }
+        }
+        matches.sort(Comparator.comparing((Movie movie) -> !titleOf(catalog, titles, movie).equals(phrase))
+                .thenComparing(Movie::getVotes, Comparator.reverseOrder()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Primary titles of the catalog as folded tokens joined by single spaces, by ordinal.
+     * Built once per catalog version on first use.
+     */
+    private String[] foldedTitles(MovieCatalog.Snapshot catalog) {
+        FoldedTitles current = foldedTitles;
+        if (current != null && current.catalogVersion == catalog.version()) {
+            return current.titles;
+        }
+        String[] titles = new String[catalog.size()];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = String.join(" ", TextFolding.tokens(catalog.get(i).getPrimaryTitle()));
+        }
+        foldedTitles = new FoldedTitles(catalog.version(), titles);
+        return titles;
+    }
+
+    private static String titleOf(MovieCatalog.Snapshot catalog, String[] titles, Movie movie) {
+        int ordinal = catalog.ordinalOf(movie.getId());
+        return ordinal >= 0 ? titles[ordinal] : String.join(" ", TextFolding.tokens(movie.getPrimaryTitle()));
+    }
+
+    /**
+     * Search movies by query - linear scan over the catalog
      */
     public List<Movie> searchMovies(String query) {
-        log.info("Searching movies with query: {}", query);
-        List<Movie> allMovies = getMockMovies();
-        
-        return allMovies.stream()
-                .filter(movie -> 
-                    movie.getPrimaryTitle().toLowerCase().contains(query.toLowerCase()) ||
-                    movie.getGenres().stream().anyMatch(genre -> genre.toLowerCase().contains(query.toLowerCase())) ||
-                    movie.getActors().stream().anyMatch(actor -> actor.toLowerCase().contains(query.toLowerCase()))
-                )
-                .collect(Collectors.toList());
+        return searchMovies(query, null, null);
     }
 
     /**
-     * Mock data for demonstration purposes
+     * Search movies by query: a linear scan over primary titles, genres and actors, plus
+     * alternative titles from the aka index. Akas from the given region or language rank first;
+     * everything else keeps catalog order. When that finds only a few movies, typo-tolerant
+     * matches from {@link FuzzyTitleMatcher} follow.
+     *
+     * @param region   region whose akas to boost, or null
+     * @param language language whose akas to boost, or null
      */
-    private List<Movie> getMockMovies() {
-        return Arrays.asList(
-            new Movie("tt0468569", "The Dark Knight", 
-                Arrays.asList("Action", "Crime", "Drama"), 
-                Arrays.asList("Christian Bale", "Heath Ledger", "Aaron Eckhart"),
-                2008, 9.0, 2500000, "Batman battles the Joker in Gotham City", 9.0),
-            
-            new Movie("tt1375666", "Inception", 
-                Arrays.asList("Action", "Sci-Fi", "Thriller"), 
-                Arrays.asList("Leonardo DiCaprio", "Marion Cotillard", "Tom Hardy"),
-                2010, 8.8, 2200000, "A thief enters people's dreams to steal secrets", 8.8),
-            
-            new Movie("tt0816692", "Interstellar", 
-                Arrays.asList("Adventure", "Drama", "Sci-Fi"), 
-                Arrays.asList("Matthew McConaughey", "Anne Hathaway", "Jessica Chastain"),
-                2014, 8.6, 1600000, "Astronauts travel through a wormhole to save humanity", 8.6),
-            
-            new Movie("tt0111161", "The Shawshank Redemption", 
-                Arrays.asList("Drama"), 
-                Arrays.asList("Tim Robbins", "Morgan Freeman"),
-                1994, 9.3, 2400000, "Two imprisoned men bond over years and find redemption", 9.3),
-            
-            new Movie("tt0137523", "Fight Club", 
-                Arrays.asList("Drama"), 
-                Arrays.asList("Brad Pitt", "Edward Norton", "Helena Bonham Carter"),
-                1999, 8.8, 1900000, "An insomniac office worker forms an underground fight club", 8.8),
-            
-            new Movie("tt0109830", "Forrest Gump", 
-                Arrays.asList("Drama", "Romance"), 
-                Arrays.asList("Tom Hanks", "Robin Wright", "Gary Sinise"),
-                1994, 8.8, 1800000, "The presidencies of Kennedy and Johnson through the eyes of an Alabama man", 8.8),
-            
-            new Movie("tt0110912", "Pulp Fiction", 
-                Arrays.asList("Crime", "Drama"), 
-                Arrays.asList("John Travolta", "Uma Thurman", "Samuel L. Jackson"),
-                1994, 8.9, 1900000, "The lives of two mob hitmen, a boxer, and others intertwine", 8.9),
-            
-            new Movie("tt0167260", "The Lord of the Rings: The Return of the King", 
-                Arrays.asList("Action", "Adventure", "Drama"), 
-                Arrays.asList("Elijah Wood", "Viggo Mortensen", "Ian McKellen"),
-                2003, 8.9, 1700000, "Gandalf and Aragorn lead the World of Men against Sauron's army", 8.9),
-            
-            new Movie("tt0120737", "The Lord of the Rings: The Fellowship of the Ring", 
-                Arrays.asList("Action", "Adventure", "Drama"), 
-                Arrays.asList("Elijah Wood", "Ian McKellen", "Orlando Bloom"),
-                2001, 8.8, 1700000, "A meek Hobbit and eight companions set out to destroy the One Ring", 8.8),
-            
-            new Movie("tt0073486", "One Flew Over the Cuckoo's Nest", 
-                Arrays.asList("Drama"), 
-                Arrays.asList("Jack Nicholson", "Louise Fletcher", "Danny DeVito"),
-                1975, 8.7, 950000, "A criminal pleads insanity and is admitted to a mental institution", 8.7)
-        );
+    public List<Movie> searchMovies(String query, String region, String language) {
+        log.debug("Searching movies with query: {} (region={}, lang={})", query, region, language);
+        return searchTimer.record(() -> {
+            MovieCatalog.Snapshot catalog = movieCatalog.current();
+            List<Movie> allMovies = catalog.movies();
+
+            // Match genre names once against the dictionary, then test movies with a mask
+            long genreMask = 0;
+            for (int code = 0; code < Dictionaries.GENRES.size(); code++) {
+                if (Dictionaries.GENRES.decode(code).toLowerCase().contains(query.toLowerCase())) {
+                    genreMask |= 1L << code;
+                }
+            }
+            long matchingGenres = genreMask;
+
+            List<Movie> matches = allMovies.stream()
+                    .filter(movie ->
+                        movie.getPrimaryTitle().toLowerCase().contains(query.toLowerCase()) ||
+                        (movie.getGenreMask() & matchingGenres) != 0 ||
+                        movie.getActors().stream().anyMatch(actor -> actor.toLowerCase().contains(query.toLowerCase()))
+                    )
+                    .collect(Collectors.toList());
+
+            Map<Integer, Float> akaHits = akaSearchService.search(catalog, query, region, language);
+            if (akaHits.isEmpty()) {
+                return fuzzyTitleMatcher.withFallback(catalog, query, matches);
+            }
+            // A direct match counts as much as an unboosted aka hit
+            Map<Integer, Float> scores = new HashMap<>(akaHits);
+            for (Movie movie : matches) {
+                scores.merge(catalog.ordinalOf(movie.getId()), 1f, Math::max);
+            }
+            List<Integer> ordinals = new ArrayList<>(scores.keySet());
+            ordinals.sort(Comparator.comparing((Integer ordinal) -> scores.get(ordinal)).reversed()
+                    .thenComparing(Comparator.naturalOrder()));
+            List<Movie> result = new ArrayList<>(ordinals.size());
+            for (int ordinal : ordinals) {
+                result.add(catalog.get(ordinal));
+            }
+            return fuzzyTitleMatcher.withFallback(catalog, query, result);
+        });
+    }
+
+    private record FoldedTitles(long catalogVersion, String[] titles) {
     }
 }
@@ -0,0 +1,41 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.model.Genres;
+import com.yourorg.imdbloader.model.Movie;
+
+import java.util.Set;
+
+/**
+ * Content similarity shared by user recommendations and per-movie neighbour lists.
+ */
+public final class MovieSimilarity {
+
+    private MovieSimilarity() {
+    }
+
+    /**
+     * Scores a candidate against liked genres (a {@link Genres} bitmask) and actors, plus a rating boost.
+     */
+    public static double calculateSimilarityScore(Movie movie, long likedGenres, Set<String> likedActors) {
+        double score = 0.0;
+
+        // Genre similarity (weight: 0.4)
+        long genres = movie.getGenreMask();
+        int genreMatches = Long.bitCount(genres & likedGenres);
+        score += (genreMatches / (double) Math.max(Long.bitCount(genres), 1)) * 0.4;
+
+        // Actor similarity (weight: 0.3)
+        int actorMatches = 0;
+        for (int a = 0; a < movie.actorCount(); a++) {
+            if (likedActors.contains(movie.actor(a))) {
+                actorMatches++;
+            }
+        }
+        score += (actorMatches / (double) Math.max(movie.actorCount(), 1)) * 0.3;
+
+        // Rating boost (weight: 0.3)
+        score += (movie.getRating() / 10.0) * 0.3;
+
+        return score;
+    }
+}
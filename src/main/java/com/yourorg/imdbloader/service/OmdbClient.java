@@ -2,32 +2,230 @@ package com.yourorg.imdbloader.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.imdbloader.config.BoundedExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import jakarta.annotation.PreDestroy;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * OMDb client sharing one pooled HTTP client. Lookups run on a bounded executor,
+ * which doubles as the concurrency limit towards the upstream API.
+ * Answers are cached in {@link PlotCache}, so warm titles never leave the process, and
+ * concurrent lookups of the same title share one in-flight request. A {@link CircuitBreaker}
+ * trips on upstream errors or slow responses, after which uncached lookups fail fast.
+ */
 @Component
 public class OmdbClient {
 
-    private static final String API_URL = "http://www.omdbapi.com/?apikey=YOUR_API_KEY&i=";
+    static final String PLOT_NOT_AVAILABLE = "Plot not available";
+
     private static final Logger log = LoggerFactory.getLogger(OmdbClient.class);
 
+    private final String apiUrl;
+    private final String apiKey;
+    private final Duration readTimeout;
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final PlotCache plotCache;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter rejectedCalls;
+    private final Timer fetchTimer;
+    private final ConcurrentHashMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public OmdbClient(@Value("${omdb.api.url:http://www.omdbapi.com/}") String apiUrl,
+                      @Value("${omdb.api.key:}") String apiKey,
+                      @Value("${omdb.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                      @Value("${omdb.http.read-timeout-ms:3000}") long readTimeoutMs,
+                      @Value("${omdb.http.max-concurrency:16}") int maxConcurrency,
+                      @Value("${omdb.http.queue-capacity:1000}") int queueCapacity,
+                      @Value("${http.async.virtual-threads:true}") boolean virtualThreads,
+                      @Value("${omdb.circuit.failure-threshold:5}") int failureThreshold,
+                      @Value("${omdb.circuit.slow-call-ms:2500}") long slowCallMs,
+                      @Value("${omdb.circuit.open-ms:30000}") long openMs,
+                      ObjectMapper objectMapper,
+                      PlotCache plotCache,
+                      MeterRegistry registry) {
+        this.apiUrl = apiUrl;
+        this.apiKey = apiKey;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.objectMapper = objectMapper;
+        this.plotCache = plotCache;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, slowCallMs, openMs);
+        this.rejectedCalls = Counter.builder("omdb.circuit.rejected").register(registry);
+        this.fetchTimer = Timer.builder("omdb.plot.fetch").register(registry);
+        Gauge.builder("omdb.circuit.open", circuitBreaker, cb -> cb.isOpen() ? 1 : 0).register(registry);
+        this.executor = BoundedExecutors.create("omdb", maxConcurrency, queueCapacity, virtualThreads);
+        // HttpClient keeps a keep-alive connection pool per host
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
     public String fetchPlotById(String imdbId) {
+        return fetchTimer.record(() -> fetchPlotAsync(imdbId).join());
+    }
+
+    /**
+     * Fetches one plot, answering from the memory tier inline and otherwise on the OMDb executor.
+     * Callers arriving while a lookup for the same id is running join that lookup instead of
+     * starting their own. Never completes exceptionally; failures map to "Plot not available"
+     * as in the synchronous call.
+     */
+    public CompletableFuture<String> fetchPlotAsync(String imdbId) {
+        Optional<PlotCache.CachedPlot> cached = plotCache.getFromMemory(imdbId);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(toPlotText(cached.get()));
+        }
+        if (circuitBreaker.isOpen()) {
+            // Upstream is degraded: answer from the persistent tier or fail fast, without queueing
+            rejectedCalls.increment();
+            return CompletableFuture.completedFuture(
+                    plotCache.getFromDatabase(imdbId).map(OmdbClient::toPlotText).orElse(PLOT_NOT_AVAILABLE));
+        }
+        CompletableFuture<String> promise = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(imdbId, promise);
+        if (running != null) {
+            return running;
+        }
+        try {
+            CompletableFuture.supplyAsync(() -> loadPlot(imdbId), executor)
+                    .whenComplete((plot, error) -> {
+                        // loadPlot has already populated the cache, so late arrivals hit memory
+                        inFlight.remove(imdbId, promise);
+                        promise.complete(error == null ? plot : PLOT_NOT_AVAILABLE);
+                    });
+        } catch (RejectedExecutionException e) {
+            log.warn("OMDb lookup queue full, skipping plot for {}", imdbId);
+            inFlight.remove(imdbId, promise);
+            promise.complete(PLOT_NOT_AVAILABLE);
+        }
+        return promise;
+    }
+
+    /**
+     * Fetches plots for all ids concurrently, bounded by the client's concurrency limit.
+     *
+     * @return future of imdbId to plot, in the iteration order of the input
+     */
+    public CompletableFuture<Map<String, String>> fetchPlots(Collection<String> imdbIds) {
+        List<String> ids = List.copyOf(new LinkedHashSet<>(imdbIds));
+        List<CompletableFuture<String>> futures = ids.stream().map(this::fetchPlotAsync).toList();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    Map<String, String> plots = new LinkedHashMap<>();
+                    for (int i = 0; i < ids.size(); i++) {
+                        plots.put(ids.get(i), futures.get(i).join());
+                    }
+                    return plots;
+                });
+    }
+
+    private String loadPlot(String imdbId) {
+        Optional<PlotCache.CachedPlot> stored = plotCache.getFromDatabase(imdbId);
+        if (stored.isPresent()) {
+            return toPlotText(stored.get());
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            rejectedCalls.increment();
+            return PLOT_NOT_AVAILABLE;
+        }
+        long start = System.nanoTime();
+        Lookup lookup = requestPlot(imdbId);
+        circuitBreaker.record(lookup.definitive(), (System.nanoTime() - start) / 1_000_000);
+        if (lookup.definitive()) {
+            plotCache.put(imdbId, lookup.plot());
+        }
+        return lookup.plot() != null ? lookup.plot() : PLOT_NOT_AVAILABLE;
+    }
+
+    /**
+     * False while the circuit is open; background callers should back off until it closes.
+     */
+    public boolean isUpstreamAvailable() {
+        return !circuitBreaker.isOpen();
+    }
+
+    public boolean hasApiKey() {
+        return !apiKey.isBlank();
+    }
+
+    private static String toPlotText(PlotCache.CachedPlot cached) {
+        return cached.isNegative() ? PLOT_NOT_AVAILABLE : cached.plot();
+    }
+
+    /**
+     * One upstream call. Definitive answers (a plot, "N/A" or unknown title) are cacheable;
+     * transport errors and non-200 responses are not.
+     */
+    private Lookup requestPlot(String imdbId) {
         try {
-            RestTemplate restTemplate = new RestTemplate();
-            String response = restTemplate.getForObject(API_URL + imdbId, String.class);
-            JsonNode json = new ObjectMapper().readTree(response);
-            
+            HttpRequest request = HttpRequest.newBuilder(plotUri(imdbId))
+                    .timeout(readTimeout)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("OMDb returned HTTP {} for movie ID: {}", response.statusCode(), imdbId);
+                return Lookup.FAILED;
+            }
+            JsonNode json = objectMapper.readTree(response.body());
+
             if (json.has("Plot") && !json.get("Plot").asText().equals("N/A")) {
-                return json.get("Plot").asText();
+                return new Lookup(json.get("Plot").asText(), true);
             } else {
                 log.warn("No plot available for movie with ID: {}", imdbId);
-                return "Plot not available";
+                return Lookup.NO_PLOT;
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Lookup.FAILED;
         } catch (Exception e) {
             log.error("Error fetching plot for movie ID {}: {}", imdbId, e.getMessage());
-            return "Plot not available";
+            return Lookup.FAILED;
         }
     }
+
+    private URI plotUri(String imdbId) {
+        String separator = apiUrl.contains("?") ? "&" : "?";
+        return URI.create(apiUrl + separator
+                + "apikey=" + URLEncoder.encode(apiKey, StandardCharsets.UTF_8)
+                + "&i=" + URLEncoder.encode(imdbId, StandardCharsets.UTF_8));
+    }
+
+    private record Lookup(String plot, boolean definitive) {
+        static final Lookup NO_PLOT = new Lookup(null, true);
+        static final Lookup FAILED = new Lookup(null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
 }
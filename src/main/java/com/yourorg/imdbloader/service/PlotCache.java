@@ -0,0 +1,247 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.repository.OmdbPlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Two-tier OMDb plot cache: a bounded in-memory LRU in front of the {@code omdb_plots} table.
+ * Titles without a plot are cached negatively with shorter TTLs so they do not hit the API again.
+ */
+@Component
+public class PlotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PlotCache.class);
+
+    private static final long INITIAL_TABLE_RETRY_MS = 5_000;
+    private static final long MAX_TABLE_RETRY_MS = 300_000;
+
+    private final OmdbPlotRepository repository;
+    private final LinkedHashMap<String, Entry> memory;
+    private final Duration memoryTtl;
+    private final Duration memoryNegativeTtl;
+    private final Duration dbTtl;
+    private final Duration dbNegativeTtl;
+
+    private final Counter memoryHits;
+    private final Counter memoryMisses;
+    private final Counter dbHits;
+    private final Counter dbMisses;
+
+    private volatile boolean dbAvailable = true;
+    private long tableRetryMs = INITIAL_TABLE_RETRY_MS;
+    private volatile long nextTableAttemptMs;
+
+    public PlotCache(OmdbPlotRepository repository,
+                     MeterRegistry registry,
+                     @Value("${omdb.cache.memory.max-entries:50000}") int maxEntries,
+                     @Value("${omdb.cache.memory.ttl-seconds:86400}") long memoryTtlSeconds,
+                     @Value("${omdb.cache.memory.negative-ttl-seconds:3600}") long memoryNegativeTtlSeconds,
+                     @Value("${omdb.cache.db.ttl-seconds:2592000}") long dbTtlSeconds,
+                     @Value("${omdb.cache.db.negative-ttl-seconds:86400}") long dbNegativeTtlSeconds) {
+        this.repository = repository;
+        this.memoryTtl = Duration.ofSeconds(memoryTtlSeconds);
+        this.memoryNegativeTtl = Duration.ofSeconds(memoryNegativeTtlSeconds);
+        this.dbTtl = Duration.ofSeconds(dbTtlSeconds);
+        this.dbNegativeTtl = Duration.ofSeconds(dbNegativeTtlSeconds);
+        this.memory = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.memoryHits = counter(registry, "memory", "hit");
+        this.memoryMisses = counter(registry, "memory", "miss");
+        this.dbHits = counter(registry, "db", "hit");
+        this.dbMisses = counter(registry, "db", "miss");
+        hitRatio(registry, "memory", memoryHits, memoryMisses);
+        hitRatio(registry, "db", dbHits, dbMisses);
+        Gauge.builder("omdb.plot.cache.size", this, PlotCache::memorySize)
+                .tag("tier", "memory")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public synchronized void ensureTable() {
+        try {
+            repository.createTableIfMissing();
+            if (!dbAvailable) {
+                log.info("✅ omdb_plots table available again, plot cache is persistent");
+            }
+            dbAvailable = true;
+            tableRetryMs = INITIAL_TABLE_RETRY_MS;
+        } catch (Exception e) {
+            dbAvailable = false;
+            nextTableAttemptMs = System.currentTimeMillis() + tableRetryMs;
+            log.warn("⚠️ omdb_plots table unavailable, plot cache is memory-only; retrying in {} s: {}",
+                    tableRetryMs / 1000, e.getMessage());
+            tableRetryMs = Math.min(tableRetryMs * 2, MAX_TABLE_RETRY_MS);
+        }
+    }
+
+    /**
+     * Retries the table with exponential backoff while the cache is memory-only, e.g. when the
+     * database was not up yet at startup.
+     */
+    @Scheduled(fixedDelay = INITIAL_TABLE_RETRY_MS, initialDelay = INITIAL_TABLE_RETRY_MS)
+    public void retryUnavailableTable() {
+        if (!dbAvailable && System.currentTimeMillis() >= nextTableAttemptMs) {
+            ensureTable();
+        }
+    }
+
+    /**
+     * Memory tier only, safe to call on request threads.
+     */
+    public Optional<CachedPlot> getFromMemory(String imdbId) {
+        Entry entry;
+        synchronized (memory) {
+            entry = memory.get(imdbId);
+            if (entry != null && entry.expiresAt.isBefore(Instant.now())) {
+                memory.remove(imdbId);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            memoryMisses.increment();
+            return Optional.empty();
+        }
+        memoryHits.increment();
+        return Optional.of(new CachedPlot(entry.plot));
+    }
+
+    /**
+     * Persistent tier; a hit is promoted into memory, expiring no later than the row does.
+     */
+    public Optional<CachedPlot> getFromDatabase(String imdbId) {
+        if (!dbAvailable) {
+            return Optional.empty();
+        }
+        try {
+            Optional<OmdbPlotRepository.StoredPlot> stored = repository.find(imdbId);
+            if (stored.isPresent()) {
+                OmdbPlotRepository.StoredPlot row = stored.get();
+                Instant expiresAt = row.fetchedAt().plus(row.plot() == null ? dbNegativeTtl : dbTtl);
+                if (expiresAt.isAfter(Instant.now())) {
+                    dbHits.increment();
+                    putMemory(imdbId, row.plot(), expiresAt);
+                    return Optional.of(new CachedPlot(row.plot()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Plot cache lookup failed for {}: {}", imdbId, e.getMessage());
+        }
+        dbMisses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Stores a definitive answer in both tiers. A null plot is cached negatively.
+     */
+    public void put(String imdbId, String plot) {
+        putMemory(imdbId, plot);
+        if (!dbAvailable) {
+            return;
+        }
+        try {
+            repository.upsert(imdbId, plot, Instant.now());
+        } catch (Exception e) {
+            log.warn("Could not persist plot for {}: {}", imdbId, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether either tier holds a live answer, without touching the hit/miss metrics.
+     */
+    public boolean isCached(String imdbId) {
+        synchronized (memory) {
+            Entry entry = memory.get(imdbId);
+            if (entry != null && entry.expiresAt.isAfter(Instant.now())) {
+                return true;
+            }
+        }
+        if (!dbAvailable) {
+            return false;
+        }
+        try {
+            return repository.find(imdbId)
+                    .filter(row -> row.fetchedAt().plus(row.plot() == null ? dbNegativeTtl : dbTtl).isAfter(Instant.now()))
+                    .isPresent();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public boolean isPersistent() {
+        return dbAvailable;
+    }
+
+    public void invalidate(String imdbId) {
+        synchronized (memory) {
+            memory.remove(imdbId);
+        }
+    }
+
+    private void putMemory(String imdbId, String plot) {
+        putMemory(imdbId, plot, Instant.MAX);
+    }
+
+    private void putMemory(String imdbId, String plot, Instant notAfter) {
+        Instant expiresAt = Instant.now().plus(plot == null ? memoryNegativeTtl : memoryTtl);
+        if (notAfter.isBefore(expiresAt)) {
+            expiresAt = notAfter;
+        }
+        synchronized (memory) {
+            memory.put(imdbId, new Entry(plot, expiresAt));
+        }
+    }
+
+    private int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("omdb.plot.cache.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static void hitRatio(MeterRegistry registry, String tier, Counter hits, Counter misses) {
+        Gauge.builder("omdb.plot.cache.hit.ratio", () -> {
+                    double total = hits.count() + misses.count();
+                    return total == 0 ? 0.0 : hits.count() / total;
+                })
+                .tag("tier", tier)
+                .register(registry);
+    }
+
+    /**
+     * A cached answer; a null plot means OMDb has none.
+     */
+    public record CachedPlot(String plot) {
+        public boolean isNegative() {
+            return plot == null;
+        }
+    }
+
+    private record Entry(String plot, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.repository.OmdbPlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Background warmer that walks the catalog by descending votes and fetches plots that are not
+ * cached yet, so popular titles never pay the first-hit OMDb latency. Upstream calls are limited
+ * by a token bucket, the walk pauses while the OMDb circuit is open, and the position reached is
+ * persisted so a restart resumes where the previous run stopped. The walk only moves past a title
+ * once its answer, a plot or a definitive "no plot", is cached.
+ */
+@Component
+public class PlotPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(PlotPrefetcher.class);
+
+    private final MovieCatalog movieCatalog;
+    private final OmdbClient omdbClient;
+    private final PlotCache plotCache;
+    private final OmdbPlotRepository repository;
+    private final TokenBucket rateLimiter;
+    private final Counter prefetched;
+
+    @Value("${omdb.prefetch.enabled:true}")
+    private boolean enabled;
+
+    // Bounds cache checks per tick, each of which may cost a database round trip
+    @Value("${omdb.prefetch.max-scan-per-tick:200}")
+    private int maxScanPerTick;
+
+    private long walkCatalogVersion = -1;
+    private long walkKey;
+    private int[] order;
+    private int position = -1;
+
+    public PlotPrefetcher(MovieCatalog movieCatalog,
+                          OmdbClient omdbClient,
+                          PlotCache plotCache,
+                          OmdbPlotRepository repository,
+                          MeterRegistry registry,
+                          @Value("${omdb.prefetch.rate-per-second:0.01}") double ratePerSecond,
+                          @Value("${omdb.prefetch.burst:5}") int burst) {
+        this.movieCatalog = movieCatalog;
+        this.omdbClient = omdbClient;
+        this.plotCache = plotCache;
+        this.repository = repository;
+        this.rateLimiter = new TokenBucket(ratePerSecond, burst);
+        this.prefetched = Counter.builder("omdb.prefetch.fetched").register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${omdb.prefetch.initial-delay-ms:60000}",
+            fixedDelayString = "${omdb.prefetch.interval-ms:1000}")
+    public synchronized void tick() {
+        if (!enabled || !omdbClient.hasApiKey() || !omdbClient.isUpstreamAvailable()) {
+            return;
+        }
+        MovieCatalog.Snapshot catalog = movieCatalog.current();
+        if (catalog.size() == 0) {
+            return;
+        }
+        if (order == null || walkCatalogVersion != catalog.version()) {
+            startWalk(catalog);
+        }
+        if (position >= order.length) {
+            return;
+        }
+
+        int start = position;
+        int fetched = 0;
+        while (position < order.length && position - start < maxScanPerTick) {
+            String imdbId = catalog.get(order[position]).getId();
+            if (!plotCache.isCached(imdbId)) {
+                if (!omdbClient.isUpstreamAvailable() || !rateLimiter.tryAcquire()) {
+                    break;
+                }
+                omdbClient.fetchPlotAsync(imdbId).join();
+                if (!plotCache.isCached(imdbId)) {
+                    // Transient failure (circuit, queue, timeout, 5xx): retry this title next tick
+                    break;
+                }
+                prefetched.increment();
+                fetched++;
+            }
+            position++;
+        }
+        if (position != start) {
+            savePosition();
+        }
+        if (fetched > 0) {
+            log.debug("Prefetched {} plots, walk at {}/{}", fetched, position, order.length);
+        }
+        if (position >= order.length) {
+            log.info("✅ Plot prefetch walk complete for {} titles", order.length);
+        }
+    }
+
+    private void startWalk(MovieCatalog.Snapshot catalog) {
+        int[] newOrder = IntStream.range(0, catalog.size()).boxed()
+                .sorted(Comparator.comparingInt((Integer i) -> catalog.get(i).getVotes()).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        long newKey = walkKey(catalog, newOrder);
+        boolean sameWalk = order != null && newKey == walkKey;
+        order = newOrder;
+        walkCatalogVersion = catalog.version();
+        walkKey = newKey;
+        if (sameWalk) {
+            // Reload without a change to the walk order, e.g. plots added by this walk
+            return;
+        }
+        position = 0;
+        if (plotCache.isPersistent()) {
+            try {
+                position = Math.max(0, Math.min(repository.findPrefetchPosition(walkKey), order.length));
+            } catch (Exception e) {
+                log.warn("Could not read plot prefetch position: {}", e.getMessage());
+            }
+        }
+        log.info("🔄 Plot prefetch walk over {} titles starting at {}", order.length, position);
+    }
+
+    /**
+     * Identifies the walk by dataset version and the ids and votes in walk order. Unlike the catalog
+     * fingerprint it ignores plots, so the walk's own writes do not reset the persisted cursor.
+     */
+    private static long walkKey(MovieCatalog.Snapshot catalog, int[] order) {
+        long hash = catalog.datasetVersion();
+        for (int ordinal : order) {
+            Movie movie = catalog.get(ordinal);
+            hash = 31 * hash + movie.getId().hashCode();
+            hash = 31 * hash + movie.getVotes();
+        }
+        return hash;
+    }
+
+    private void savePosition() {
+        if (!plotCache.isPersistent()) {
+            return;
+        }
+        try {
+            repository.savePrefetchPosition(walkKey, position);
+        } catch (Exception e) {
+            log.warn("Could not persist plot prefetch position: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.dto.ActorDto;
+import com.yourorg.imdbloader.index.TextFolding;
+import com.yourorg.imdbloader.model.Dictionaries;
+import com.yourorg.imdbloader.model.ParsedQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns a free-text request such as "90s action with Tom Cruise" or "hidden gems romantic
+ * comedy" into a {@link ParsedQuery}: genres, a year range, actors and a ranking preference.
+ *
+ * <p>Works on {@link TextFolding} tokens with phrase tables matched longest first, so parsing
+ * is a few map lookups per word. Actor names are resolved through {@link ActorGraphService},
+ * only for runs of two or three words nothing else claimed.</p>
+ */
+@Component
+public class QueryParser {
+
+    // Longest phrase in the tables below, in words
+    private static final int MAX_PHRASE = 3;
+    // Actor lookups per query; each is an index scan, the rest of parsing is not
+    private static final int MAX_ACTOR_LOOKUPS = 4;
+
+    private static final Map<String, List<String>> GENRE_PHRASES = new HashMap<>();
+    private static final Map<String, ParsedQuery.Quality> QUALITY_PHRASES = new HashMap<>();
+    private static final Map<String, Integer> DECADE_WORDS = Map.of(
+            "twenties", 1920, "thirties", 1930, "forties", 1940, "fifties", 1950,
+            "sixties", 1960, "seventies", 1970, "eighties", 1980, "nineties", 1990);
+    private static final Set<String> ACTOR_MARKERS = Set.of("with", "starring", "featuring", "feat");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "movie", "movies", "film", "films", "flick", "flicks", "with", "starring", "featuring", "feat",
+            "the", "a", "an", "and", "or", "of", "in", "from", "some", "something", "any", "me", "i",
+            "want", "to", "watch", "show", "find", "recommend", "good", "great", "like", "about", "set",
+            "before", "after", "since", "until", "between", "year", "years", "era", "s");
+
+    static {
+        genre("Action", "action");
+        genre("Adventure", "adventure", "adventures");
+        genre("Animation", "animation", "animated", "cartoon", "cartoons", "anime");
+        genre("Biography", "biography", "biographies", "biopic", "biopics", "biographical");
+        genre("Comedy", "comedy", "comedies", "funny", "comedic");
+        genre("Crime", "crime", "gangster", "heist");
+        genre("Documentary", "documentary", "documentaries", "doc", "docs");
+        genre("Drama", "drama", "dramas", "dramatic");
+        genre("Family", "family", "kids");
+        genre("Fantasy", "fantasy");
+        genre("Film-Noir", "noir", "film noir");
+        genre("History", "history", "historical");
+        genre("Horror", "horror", "scary");
+        genre("Music", "music");
+        genre("Musical", "musical", "musicals");
+        genre("Mystery", "mystery", "mysteries", "whodunit");
+        genre("Romance", "romance", "romantic", "romances", "love story");
+        genre("Sci-Fi", "sci fi", "scifi", "science fiction");
+        genre("Sport", "sport", "sports");
+        genre("Thriller", "thriller", "thrillers", "suspense");
+        genre("War", "war");
+        genre("Western", "western", "westerns");
+        GENRE_PHRASES.put("romcom", List.of("Romance", "Comedy"));
+        GENRE_PHRASES.put("rom com", List.of("Romance", "Comedy"));
+
+        quality(ParsedQuery.Quality.TOP_RATED, "top rated", "highest rated", "best", "greatest",
+                "acclaimed", "critically acclaimed", "masterpiece", "masterpieces", "must see");
+        quality(ParsedQuery.Quality.HIDDEN_GEMS, "hidden gem", "hidden gems", "underrated", "lesser known",
+                "overlooked", "underseen", "obscure");
+        quality(ParsedQuery.Quality.POPULAR, "popular", "blockbuster", "blockbusters", "famous", "mainstream");
+    }
+
+    private final ActorGraphService actorGraphService;
+
+    public QueryParser(ActorGraphService actorGraphService) {
+        this.actorGraphService = actorGraphService;
+    }
+
+    public ParsedQuery parse(String query) {
+        List<String> tokens = TextFolding.tokens(query);
+        boolean[] used = new boolean[tokens.size()];
+        long genreMask = 0;
+        int fromYear = 0;
+        int toYear = 0;
+        ParsedQuery.Quality quality = ParsedQuery.Quality.ANY;
+
+        for (int i = 0; i < tokens.size(); ) {
+            int length = phraseAt(tokens, i);
+            if (length > 0) {
+                String phrase = String.join(" ", tokens.subList(i, i + length));
+                List<String> genres = GENRE_PHRASES.get(phrase);
+                if (genres != null) {
+                    genreMask |= genreMask(genres);
+                } else {
+                    quality = QUALITY_PHRASES.get(phrase);
+                }
+                for (int k = i; k < i + length; k++) {
+                    used[k] = true;
+                }
+                i += length;
+                continue;
+            }
+            int[] years = years(tokens, i);
+            if (years != null) {
+                fromYear = fromYear == 0 ? years[0] : Math.min(fromYear, years[0]);
+                toYear = toYear == 0 ? years[1] : Math.max(toYear, years[1]);
+                used[i] = true;
+            }
+            i++;
+        }
+
+        List<String> actorIds = new ArrayList<>();
+        List<String> actorNames = new ArrayList<>();
+        int lookups = 0;
+        for (int i = 0; i < tokens.size() && lookups < MAX_ACTOR_LOOKUPS; i++) {
+            for (int length = Math.min(3, freeRun(tokens, used, i)); length >= 2 && lookups < MAX_ACTOR_LOOKUPS; length--) {
+                lookups++;
+                ActorDto actor = actorGraphService.findByName(String.join(" ", tokens.subList(i, i + length)));
+                if (actor != null) {
+                    actorIds.add(actor.getNconst());
+                    actorNames.add(actor.getName());
+                    for (int k = i; k < i + length; k++) {
+                        used[k] = true;
+                    }
+                    i += length - 1;
+                    break;
+                }
+            }
+        }
+
+        List<String> leftover = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (!used[i] && !STOP_WORDS.contains(tokens.get(i))) {
+                leftover.add(tokens.get(i));
+            }
+        }
+        return new ParsedQuery(genreMask, fromYear, toYear, List.copyOf(actorIds), List.copyOf(actorNames),
+                quality, String.join(" ", leftover));
+    }
+
+    /**
+     * Words in the longest genre or quality phrase starting at i, or 0.
+     */
+    private static int phraseAt(List<String> tokens, int i) {
+        for (int length = Math.min(MAX_PHRASE, tokens.size() - i); length > 0; length--) {
+            String phrase = String.join(" ", tokens.subList(i, i + length));
+            if (GENRE_PHRASES.containsKey(phrase) || QUALITY_PHRASES.containsKey(phrase)) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Year range named by the token at i ("90s", "1990s", "nineties", "1994", "after 2010"), or null.
+     */
+    private static int[] years(List<String> tokens, int i) {
+        String token = tokens.get(i);
+        // "'90s" and "90's" tokenize as "90s" and "90" "s"
+        if (i + 1 < tokens.size() && tokens.get(i + 1).equals("s") && token.matches("\\d{2}|\\d{4}")) {
+            token = token + "s";
+        }
+        Integer decade = DECADE_WORDS.get(token);
+        if (decade == null && token.matches("\\d{4}s")) {
+            decade = Integer.parseInt(token.substring(0, 4));
+        } else if (decade == null && token.matches("\\d0s")) {
+            int twoDigits = Integer.parseInt(token.substring(0, 2));
+            // "20s" means the 2020s to most people asking today; older decades have no such clash
+            decade = (twoDigits <= 20 ? 2000 : 1900) + twoDigits;
+        }
+        if (decade != null) {
+            return decade % 10 == 0 ? new int[]{decade, decade + 9} : null;
+        }
+        if (!token.matches("(18|19|20)\\d{2}")) {
+            return null;
+        }
+        int year = Integer.parseInt(token);
+        String before = i > 0 ? tokens.get(i - 1) : "";
+        return switch (before) {
+            case "before", "until" -> new int[]{0, year - 1};
+            case "after" -> new int[]{year + 1, 0};
+            case "since" -> new int[]{year, 0};
+            default -> new int[]{year, year};
+        };
+    }
+
+    /**
+     * Length of the run of unclaimed, non-stop words starting at i, which may hold an actor's name.
+     * A run directly after "with" or "starring" may begin with a stop word ("with The Rock").
+     */
+    private static int freeRun(List<String> tokens, boolean[] used, int i) {
+        boolean afterMarker = i > 0 && ACTOR_MARKERS.contains(tokens.get(i - 1));
+        int end = i;
+        while (end < tokens.size() && !used[end]
+                && (!STOP_WORDS.contains(tokens.get(end)) || (end == i && afterMarker))) {
+            end++;
+        }
+        return end - i;
+    }
+
+    private static long genreMask(List<String> genres) {
+        long mask = 0;
+        for (String genre : genres) {
+            // Only genres the loaded dataset has; a code must not be invented for a name never seen
+            int code = Dictionaries.GENRES.codeOf(genre);
+            if (code >= 0) {
+                mask |= 1L << code;
+            }
+        }
+        return mask;
+    }
+
+    private static void genre(String name, String... phrases) {
+        for (String phrase : phrases) {
+            GENRE_PHRASES.put(phrase, List.of(name));
+        }
+    }
+
+    private static void quality(ParsedQuery.Quality quality, String... phrases) {
+        for (String phrase : phrases) {
+            QUALITY_PHRASES.put(phrase, quality);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.config.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which users wrote recently so their own reads go to the primary until replicas
+ * have had time to catch up ({@code datasource.routing.read-your-writes-ms}).
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final long windowMs;
+    private final LinkedHashMap<String, Long> lastWrites;
+
+    public ReadYourWritesTracker(@Value("${datasource.routing.read-your-writes-ms:5000}") long windowMs,
+                                 @Value("${datasource.routing.max-tracked-users:100000}") int maxUsers) {
+        this.windowMs = windowMs;
+        this.lastWrites = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    public synchronized void recordWrite(String userId) {
+        lastWrites.put(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Runs reads for a user, on the primary if the user wrote within the window.
+     */
+    public <T> T read(String userId, Supplier<T> work) {
+        return wroteRecently(userId) ? ReadWriteRoutingDataSource.onPrimary(work) : work.get();
+    }
+
+    private synchronized boolean wroteRecently(String userId) {
+        Long lastWrite = lastWrites.get(userId);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - lastWrite > windowMs) {
+            lastWrites.remove(userId);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.yourorg.imdbloader.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background job that recomputes dirty precomputed recommendation lists
+ * so polling clients keep hitting the O(1) clean path.
+ */
+@Component
+public class RecommendationRefreshJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationRefreshJob.class);
+
+    private final RecommendationStore store;
+    private final SuggestService suggestService;
+
+    public RecommendationRefreshJob(RecommendationStore store, SuggestService suggestService) {
+        this.store = store;
+        this.suggestService = suggestService;
+    }
+
+    @Scheduled(fixedDelayString = "${recommender.precompute.refresh-interval-ms:1000}")
+    public void refreshDirtyUsers() {
+        List<String> dirty = store.dirtyUsers();
+        for (String userId : dirty) {
+            try {
+                suggestService.refreshRecommendations(userId);
+            } catch (Exception e) {
+                log.warn("Failed to precompute recommendations for user {}: {}", userId, e.getMessage());
+            }
+        }
+        int evicted = store.evictIdle();
+        if (!dirty.isEmpty() || evicted > 0) {
+            log.debug("Refreshed {} dirty recommendation lists, evicted {} idle users", dirty.size(), evicted);
+        }
+    }
+}
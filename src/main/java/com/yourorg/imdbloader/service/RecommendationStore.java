@@ -0,0 +1,182 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.dto.SuggestResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store of precomputed recommendation lists for recently active users.
+ * An entry is clean while its computed version matches its current version;
+ * {@link #markDirty(String)} bumps the version so the next read or refresh recomputes it.
+ * Every catalog reload marks all entries dirty, since lists refer to the catalog they were scored on.
+ * Each list also records the catalog and matrix versions it was scored on and is only served while
+ * they are current, so a read between a version bump and the matching dirty mark never gets a stale list.
+ */
+@Component
+public class RecommendationStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Timer freshnessLag;
+
+    @Value("${recommender.precompute.max-users:100000}")
+    private int maxUsers;
+
+    @Value("${recommender.precompute.idle-ttl-ms:1800000}")
+    private long idleTtlMs;
+
+    public RecommendationStore(MeterRegistry registry) {
+        this.freshnessLag = Timer.builder("recommendations.precomputed.freshness.lag")
+                .description("Time between a user being marked dirty and their list being recomputed")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("recommendations.precomputed.users", entries, Map::size)
+                .description("Users with a precomputed recommendation list")
+                .register(registry);
+        Gauge.builder("recommendations.precomputed.dirty.max.lag.seconds", this, RecommendationStore::maxDirtyLagSeconds)
+                .description("Age of the oldest pending recomputation")
+                .register(registry);
+    }
+
+    /**
+     * O(1) read of a clean precomputed list scored on {@code basis}, or null when the user is
+     * unknown, dirty or the list was scored on other catalog or matrix versions.
+     */
+    public SuggestResponse getIfClean(String userId, String basis) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccessMs = System.currentTimeMillis();
+        synchronized (entry) {
+            return entry.version == entry.computedVersion && basis.equals(entry.basis) ? entry.response : null;
+        }
+    }
+
+    /**
+     * Current version for a user, to be passed back to {@link #put} once the list is computed.
+     */
+    public long currentVersion(String userId) {
+        Entry entry = entries.computeIfAbsent(userId, id -> new Entry());
+        synchronized (entry) {
+            return entry.version;
+        }
+    }
+
+    /**
+     * Stores a list computed on {@code basis}. If the user was marked dirty again while computing,
+     * the entry stays dirty so the newer feedback is not lost.
+     */
+    public void put(String userId, long computedVersion, String basis, SuggestResponse response) {
+        Entry entry = entries.computeIfAbsent(userId, id -> new Entry());
+        long now = System.currentTimeMillis();
+        synchronized (entry) {
+            if (computedVersion < entry.computedVersion) {
+                return;
+            }
+            entry.response = response;
+            entry.basis = basis;
+            entry.computedVersion = computedVersion;
+            if (entry.version == computedVersion && entry.dirtySinceMs > 0) {
+                freshnessLag.record(Duration.ofMillis(now - entry.dirtySinceMs));
+                entry.dirtySinceMs = 0;
+            }
+        }
+        entry.lastAccessMs = now;
+    }
+
+    public void markDirty(String userId) {
+        Entry entry = entries.get(userId);
+        if (entry != null) {
+            entry.markDirty(System.currentTimeMillis());
+        }
+    }
+
+    // Ahead of the index builders, so the refresh job starts recomputing as soon as possible
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        markAllDirty();
+    }
+
+    public void markAllDirty() {
+        long now = System.currentTimeMillis();
+        entries.values().forEach(entry -> entry.markDirty(now));
+    }
+
+    public void invalidate(String userId) {
+        entries.remove(userId);
+    }
+
+    public List<String> dirtyUsers() {
+        List<String> dirty = new ArrayList<>();
+        entries.forEach((userId, entry) -> {
+            synchronized (entry) {
+                if (entry.version != entry.computedVersion) {
+                    dirty.add(userId);
+                }
+            }
+        });
+        return dirty;
+    }
+
+    /**
+     * Drops users idle for longer than the TTL, then trims least recently used entries
+     * down to the configured capacity.
+     */
+    public int evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTtlMs;
+        int before = entries.size();
+        entries.entrySet().removeIf(e -> e.getValue().lastAccessMs < cutoff);
+        int overflow = entries.size() - maxUsers;
+        if (overflow > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().lastAccessMs))
+                    .limit(overflow)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+        return before - entries.size();
+    }
+
+    private double maxDirtyLagSeconds() {
+        long now = System.currentTimeMillis();
+        long maxLag = 0;
+        for (Entry entry : entries.values()) {
+            long since = entry.dirtySinceMs;
+            if (since > 0) {
+                maxLag = Math.max(maxLag, now - since);
+            }
+        }
+        return maxLag / 1000.0;
+    }
+
+    private static final class Entry {
+        SuggestResponse response;
+        String basis;
+        long version = 1;
+        long computedVersion;
+        volatile long dirtySinceMs;
+        volatile long lastAccessMs = System.currentTimeMillis();
+
+        synchronized void markDirty(long now) {
+            version++;
+            if (dirtySinceMs == 0) {
+                dirtySinceMs = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.yourorg.imdbloader.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of serialized JSON responses keyed by request key and ETag.
+ * Repeat requests for an unchanged resource return the cached bytes without
+ * running the scorer or Jackson.
+ */
+@Component
+public class ResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${http.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${http.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    public ResponseCache(ObjectMapper objectMapper, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("http.response.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("http.response.cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("http.response.cache.size", this, ResponseCache::size).register(registry);
+        Gauge.builder("http.response.cache.bytes", this, ResponseCache::sizeInBytes).register(registry);
+    }
+
+    /**
+     * Returns the cached body for key + etag, or computes and serializes it.
+     * The ETag is part of the key, so entries for older versions simply age out.
+     */
+    public byte[] getOrCompute(String key, String etag, Supplier<Object> body) {
+        String cacheKey = key + '|' + etag;
+        synchronized (this) {
+            byte[] cached = entries.get(cacheKey);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        byte[] serialized;
+        try {
+            serialized = objectMapper.writeValueAsBytes(body.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing response for " + key, e);
+        }
+        put(cacheKey, serialized);
+        return serialized;
+    }
+
+    public synchronized void invalidatePrefix(String keyPrefix) {
+        Iterator<Map.Entry<String, byte[]>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, byte[]> e = it.next();
+            if (e.getKey().startsWith(keyPrefix)) {
+                totalBytes -= e.getValue().length;
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+    private synchronized void put(String cacheKey, byte[] serialized) {
+        if (serialized.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(cacheKey, serialized);
+        if (previous != null) {
+            totalBytes -= previous.length;
+        }
+        totalBytes += serialized.length;
+        Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+}
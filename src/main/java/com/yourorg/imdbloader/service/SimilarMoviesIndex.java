@@ -0,0 +1,156 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.index.IntArrayList;
+import com.yourorg.imdbloader.index.TopK;
+import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.model.ScoredMovie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed per-movie "more like this" lists in CSR form (int ordinals plus float scores).
+ *
+ * <p>Candidates for each movie are the titles sharing a cast member plus the best rated titles of
+ * each of its genres, scored with {@link MovieSimilarity#calculateSimilarityScore}. This keeps the
+ * build near-linear in catalog size and serving a slice copy, independent of catalog size.</p>
+ */
+@Service
+public class SimilarMoviesIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarMoviesIndex.class);
+
+    @Value("${recommender.similar.neighbours:20}")
+    private int maxNeighbours;
+
+    @Value("${recommender.similar.genre-candidates:200}")
+    private int genreCandidates;
+
+    private volatile Neighbours neighbours;
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        long start = System.currentTimeMillis();
+        Neighbours built = build(event.snapshot());
+        neighbours = built;
+        log.info("✅ Built similar-movie lists for {} movies ({} edges) in {} ms",
+                event.snapshot().size(), built.ids.length, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Up to {@code limit} movies similar to the given one, each carrying its similarity score.
+     * Returns null when the movie is not in the indexed catalog.
+     */
+    public List<ScoredMovie> similarTo(String movieId, int limit) {
+        Neighbours current = neighbours;
+        if (current == null) {
+            return null;
+        }
+        int ordinal = current.catalog.ordinalOf(movieId);
+        if (ordinal < 0) {
+            return null;
+        }
+        int from = current.offsets[ordinal];
+        int to = Math.min(current.offsets[ordinal + 1], from + Math.max(limit, 0));
+        List<ScoredMovie> result = new ArrayList<>(to - from);
+        for (int p = from; p < to; p++) {
+            result.add(new ScoredMovie(current.catalog.get(current.ids[p]), current.scores[p]));
+        }
+        return result;
+    }
+
+    private Neighbours build(MovieCatalog.Snapshot catalog) {
+        int n = catalog.size();
+        Map<String, IntArrayList> byActor = new HashMap<>();
+        // Indexed by genre code
+        IntArrayList[] byGenre = new IntArrayList[Long.SIZE];
+        for (int i = 0; i < n; i++) {
+            Movie movie = catalog.get(i);
+            for (int a = 0; a < movie.actorCount(); a++) {
+                byActor.computeIfAbsent(movie.actor(a), k -> new IntArrayList(4)).add(i);
+            }
+            for (long bits = movie.getGenreMask(); bits != 0; bits &= bits - 1) {
+                int genre = Long.numberOfTrailingZeros(bits);
+                if (byGenre[genre] == null) {
+                    byGenre[genre] = new IntArrayList();
+                }
+                byGenre[genre].add(i);
+            }
+        }
+        // Keep only the best rated titles per genre as genre-only candidates
+        int[][] topByGenre = new int[Long.SIZE][];
+        for (int genre = 0; genre < Long.SIZE; genre++) {
+            if (byGenre[genre] != null) {
+                topByGenre[genre] = IntStream.of(byGenre[genre].toArray()).boxed()
+                        .sorted((a, b) -> Double.compare(catalog.get(b).getRating(), catalog.get(a).getRating()))
+                        .limit(genreCandidates)
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            }
+        }
+
+        int[][] rowIds = new int[n][];
+        float[][] rowScores = new float[n][];
+        ThreadLocal<TopK> tops = ThreadLocal.withInitial(() -> new TopK(maxNeighbours));
+        // Per-thread "already scored" stamps; stamping with i + 1 makes resets unnecessary
+        ThreadLocal<int[]> stamps = ThreadLocal.withInitial(() -> new int[n]);
+        IntStream.range(0, n).parallel().forEach(i -> {
+            Movie source = catalog.get(i);
+            long genres = source.getGenreMask();
+            Set<String> actors = new HashSet<>(source.getActors());
+            TopK top = tops.get();
+            top.clear();
+            int[] seen = stamps.get();
+            int stamp = i + 1;
+            seen[i] = stamp;
+            for (String actor : actors) {
+                IntArrayList postings = byActor.get(actor);
+                for (int p = 0; p < postings.size(); p++) {
+                    offer(catalog, postings.get(p), genres, actors, seen, stamp, top);
+                }
+            }
+            for (long bits = genres; bits != 0; bits &= bits - 1) {
+                for (int c : topByGenre[Long.numberOfTrailingZeros(bits)]) {
+                    offer(catalog, c, genres, actors, seen, stamp, top);
+                }
+            }
+            rowIds[i] = new int[top.size()];
+            rowScores[i] = new float[rowIds[i].length];
+            top.drainDescending(rowIds[i], rowScores[i], 0);
+        });
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + rowIds[i].length;
+        }
+        int[] ids = new int[offsets[n]];
+        float[] scores = new float[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(rowIds[i], 0, ids, offsets[i], rowIds[i].length);
+            System.arraycopy(rowScores[i], 0, scores, offsets[i], rowScores[i].length);
+        }
+        return new Neighbours(catalog, offsets, ids, scores);
+    }
+
+    private static void offer(MovieCatalog.Snapshot catalog, int candidate, long genres, Set<String> actors,
+                              int[] seen, int stamp, TopK top) {
+        if (seen[candidate] == stamp) {
+            return;
+        }
+        seen[candidate] = stamp;
+        top.offer(candidate, (float) MovieSimilarity.calculateSimilarityScore(catalog.get(candidate), genres, actors));
+    }
+
+    private record Neighbours(MovieCatalog.Snapshot catalog, int[] offsets, int[] ids, float[] scores) {
+    }
+}
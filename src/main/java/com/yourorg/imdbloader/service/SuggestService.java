@@ -3,10 +3,17 @@ package com.yourorg.imdbloader.service;
 import com.yourorg.imdbloader.dto.*;
 import com.yourorg.imdbloader.entity.UserPreferenceEntity;
 import com.yourorg.imdbloader.entity.UserProfileEntity;
+import com.yourorg.imdbloader.model.Genres;
 import com.yourorg.imdbloader.model.Movie;
+import com.yourorg.imdbloader.model.ParsedQuery;
+import com.yourorg.imdbloader.model.ScoredMovie;
 import com.yourorg.imdbloader.repository.UserPreferenceRepository;
 import com.yourorg.imdbloader.repository.UserProfileRepository;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
@@ -20,25 +27,80 @@ public class SuggestService {
     private final UserPreferenceRepository prefRepo;
     private final MovieService movieService;
     private final JdbcTemplate jdbcTemplate;
+    private final CollaborativeFilteringService cfService;
+    private final RecommendationStore recommendationStore;
+    private final MovieEmbeddingIndex embeddingIndex;
+    private final MovieCatalog movieCatalog;
+    private final UserVersionTracker userVersions;
+    private final ReadYourWritesTracker readYourWrites;
+    private final QueryParser queryParser;
+    private final InvalidationBus invalidationBus;
+
+    private final Timer startSessionTimer;
+    private final Timer feedbackTimer;
+    private final Timer recommendationsTimer;
+    private final Timer computeTimer;
+    private final DistributionSummary candidateSizes;
+
+    // Weight of the collaborative filtering signal relative to content similarity
+    @Value("${recommender.cf.weight:0.5}")
+    private double cfWeight;
+
+    // Number of ANN candidates scored exactly; catalogs smaller than this are scanned in full
+    @Value("${recommender.ann.candidates:500}")
+    private int annCandidates;
+
+    // Movies returned for a session query that parsed into filters
+    @Value("${suggest.query.max-results:50}")
+    private int queryMaxResults;
 
     public SuggestService(UserProfileRepository profileRepo,
                           UserPreferenceRepository prefRepo,
                           MovieService movieService,
-                          JdbcTemplate jdbcTemplate) {
+                          JdbcTemplate jdbcTemplate,
+                          CollaborativeFilteringService cfService,
+                          RecommendationStore recommendationStore,
+                          MovieEmbeddingIndex embeddingIndex,
+                          MovieCatalog movieCatalog,
+                          UserVersionTracker userVersions,
+                          ReadYourWritesTracker readYourWrites,
+                          QueryParser queryParser,
+                          InvalidationBus invalidationBus,
+                          MeterRegistry registry) {
         this.profileRepo = profileRepo;
         this.prefRepo = prefRepo;
         this.movieService = movieService;
         this.jdbcTemplate = jdbcTemplate;
+        this.cfService = cfService;
+        this.recommendationStore = recommendationStore;
+        this.embeddingIndex = embeddingIndex;
+        this.movieCatalog = movieCatalog;
+        this.userVersions = userVersions;
+        this.readYourWrites = readYourWrites;
+        this.queryParser = queryParser;
+        this.invalidationBus = invalidationBus;
+        this.startSessionTimer = Timer.builder("suggest.session.start").register(registry);
+        this.feedbackTimer = Timer.builder("suggest.feedback").register(registry);
+        this.recommendationsTimer = Timer.builder("suggest.recommendations").register(registry);
+        this.computeTimer = Timer.builder("suggest.recommendations.compute").register(registry);
+        this.candidateSizes = DistributionSummary.builder("suggest.candidates")
+                .description("Movies scored exactly per recommendation request")
+                .register(registry);
     }
 
     public SuggestResponse startSession(StartRequest request) {
+        return startSessionTimer.record(() -> createSession(request));
+    }
+
+    private SuggestResponse createSession(StartRequest request) {
         String userId = UUID.randomUUID().toString();
+        ParsedQuery parsed = queryParser.parse(request.getQuery());
         
-        // Create initial preferences map with the query
+        // Create initial preferences map with the query and what it names
         Map<String, Object> initialPrefs = new HashMap<>();
         initialPrefs.put("initialQuery", request.getQuery());
-        initialPrefs.put("preferredGenres", new ArrayList<>());
-        initialPrefs.put("preferredActors", new ArrayList<>());
+        initialPrefs.put("preferredGenres", new ArrayList<>(Genres.names(parsed.genreMask())));
+        initialPrefs.put("preferredActors", new ArrayList<>(parsed.actorNames()));
         
         // Save user profile with preferences using JdbcTemplate with JSONB casting
         try {
@@ -60,43 +122,94 @@ public class SuggestService {
                 "ON CONFLICT (user_id) DO UPDATE SET preferences = ?::jsonb, created_at = ?",
                 userId, prefsJson, java.time.LocalDateTime.now(), prefsJson, java.time.LocalDateTime.now()
             );
+            readYourWrites.recordWrite(userId);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             throw new RuntimeException("Error converting preferences to JSON", e);
         }
 
         // Get initial recommendations from query
-        List<Movie> recommendations = movieService.searchMovies(request.getQuery());
+        List<Movie> recommendations = moviesFor(request.getQuery(), parsed);
 
-        return new SuggestResponse(userId, recommendations);
+        return new SuggestResponse(userId, ScoredMovie.unscored(recommendations));
     }
 
     public SuggestResponse recordFeedback(String userId, List<String> likedMovieIds) {
-        for (String movieId : likedMovieIds) {
-            prefRepo.save(new UserPreferenceEntity(userId, movieId));
-        }
-        return getRecommendations(userId);
+        return feedbackTimer.record(() -> {
+            for (String movieId : likedMovieIds) {
+                prefRepo.save(new UserPreferenceEntity(userId, movieId));
+            }
+            readYourWrites.recordWrite(userId);
+            recommendationStore.markDirty(userId);
+            userVersions.bump(userId);
+            invalidationBus.userChanged(userId);
+            return getRecommendations(userId);
+        });
+    }
+
+    /**
+     * Version of everything a user's recommendations depend on: their feedback,
+     * the catalog and the collaborative filtering matrix. Changes whenever the list may change.
+     */
+    public String recommendationVersion(String userId) {
+        return userVersions.current(userId) + "." + basis();
+    }
+
+    /**
+     * Catalog and matrix versions a list is scored on. Read before computing, so a list is never
+     * tagged newer than the data it was computed from.
+     */
+    private String basis() {
+        return movieCatalog.current().version() + "." + cfService.version();
     }
 
+    /**
+     * Serves the precomputed list for clean users, otherwise recomputes it inline.
+     */
     public SuggestResponse getRecommendations(String userId) {
-        List<UserPreferenceEntity> prefs = prefRepo.findByUserId(userId);
+        return recommendationsTimer.record(() -> {
+            SuggestResponse precomputed = recommendationStore.getIfClean(userId, basis());
+            if (precomputed != null) {
+                return precomputed;
+            }
+            return refreshRecommendations(userId);
+        });
+    }
+
+    /**
+     * Recomputes and stores the recommendation list for a user.
+     */
+    public SuggestResponse refreshRecommendations(String userId) {
+        long version = recommendationStore.currentVersion(userId);
+        String basis = basis();
+        SuggestResponse response = computeTimer.record(() -> computeRecommendations(userId));
+        // Before the first catalog load the list is a fallback over no movies; keep it out of the store
+        if (movieCatalog.current().version() > 0) {
+            recommendationStore.put(userId, version, basis, response);
+        }
+        return response;
+    }
+
+    private SuggestResponse computeRecommendations(String userId) {
+        // Repository reads are read-only transactions and go to a replica unless the user just wrote
+        List<UserPreferenceEntity> prefs = readYourWrites.read(userId, () -> prefRepo.findByUserId(userId));
 
         if (prefs.isEmpty()) {
             // If no preferences yet, get user's initial query from preferences
-            Optional<UserProfileEntity> profile = profileRepo.findById(userId);
+            Optional<UserProfileEntity> profile = readYourWrites.read(userId, () -> profileRepo.findById(userId));
             if (profile.isPresent() && profile.get().getPreferences() != null) {
                 String initialQuery = (String) profile.get().getPreferences().get("initialQuery");
                 if (initialQuery != null) {
-                    List<Movie> recommendations = movieService.searchMovies(initialQuery);
-                    return new SuggestResponse(userId, recommendations);
+                    List<Movie> recommendations = moviesFor(initialQuery, queryParser.parse(initialQuery));
+                    return new SuggestResponse(userId, ScoredMovie.unscored(recommendations));
                 }
             }
             // Fallback to popular movies
-            return new SuggestResponse(userId, movieService.getAllMovies().subList(0, Math.min(10, movieService.getAllMovies().size())));
+            List<Movie> allMovies = movieService.getAllMovies();
+            return new SuggestResponse(userId, ScoredMovie.unscored(allMovies.subList(0, Math.min(10, allMovies.size()))));
         }
 
         // Enhanced recommender: analyze liked movies and suggest similar ones
-        List<Movie> recommendations = new ArrayList<>();
-        Set<String> likedGenres = new HashSet<>();
+        long likedGenres = 0;
         Set<String> likedActors = new HashSet<>();
         Set<String> alreadyLikedIds = new HashSet<>();
 
@@ -105,19 +218,30 @@ public class SuggestService {
             Movie liked = movieService.getMovieById(pref.getLikedMovieId());
             if (liked != null) {
                 alreadyLikedIds.add(liked.getId());
-                likedGenres.addAll(liked.getGenres());
-                likedActors.addAll(liked.getActors());
+                likedGenres |= liked.getGenreMask();
+                for (int a = 0; a < liked.actorCount(); a++) {
+                    likedActors.add(liked.actor(a));
+                }
             }
         }
+        long likedGenreMask = likedGenres;
+
+        // Neighbour scores from co-liked items, normalised to [0, 1]
+        Map<String, Double> cfScores = cfService.scoreNeighbours(alreadyLikedIds);
+        double maxCf = cfScores.values().stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
 
-        // Get all movies and score them based on similarity
-        List<Movie> allMovies = movieService.getAllMovies();
-        List<Movie> scoredMovies = allMovies.stream()
+        // Score candidate movies based on similarity
+        List<Movie> candidates = candidateMovies(alreadyLikedIds, cfScores.keySet());
+        candidateSizes.record(candidates.size());
+        List<ScoredMovie> scoredMovies = candidates.stream()
                 .filter(movie -> !alreadyLikedIds.contains(movie.getId())) // Exclude already liked movies
                 .map(movie -> {
-                    double score = calculateSimilarityScore(movie, likedGenres, likedActors);
-                    movie.setScore(score);
-                    return movie;
+                    double score = MovieSimilarity.calculateSimilarityScore(movie, likedGenreMask, likedActors);
+                    if (maxCf > 0) {
+                        score += cfWeight * cfScores.getOrDefault(movie.getId(), 0.0) / maxCf;
+                    }
+                    // Catalog movies are shared across requests; the score lives in a per-request view
+                    return new ScoredMovie(movie, score);
                 })
                 .sorted((m1, m2) -> Double.compare(m2.getScore(), m1.getScore())) // Sort by score descending
                 .limit(10)
@@ -126,25 +250,49 @@ public class SuggestService {
         return new SuggestResponse(userId, scoredMovies);
     }
 
-    private double calculateSimilarityScore(Movie movie, Set<String> likedGenres, Set<String> likedActors) {
-        double score = 0.0;
-
-        // Genre similarity (weight: 0.4)
-        long genreMatches = movie.getGenres().stream()
-                .mapToLong(genre -> likedGenres.contains(genre) ? 1 : 0)
-                .sum();
-        score += (genreMatches / (double) Math.max(movie.getGenres().size(), 1)) * 0.4;
-
-        // Actor similarity (weight: 0.3)
-        long actorMatches = movie.getActors().stream()
-                .mapToLong(actor -> likedActors.contains(actor) ? 1 : 0)
-                .sum();
-        score += (actorMatches / (double) Math.max(movie.getActors().size(), 1)) * 0.3;
-
-        // Rating boost (weight: 0.3)
-        score += (movie.getRating() / 10.0) * 0.3;
+    /**
+     * Movies for a free-text request: filtered and ranked through the indexes when the parser
+     * recognized genres, years, actors or a rating phrase, otherwise a plain title search.
+     * Titles containing the whole query come first either way, since "war of the worlds" or
+     * "blade runner 2049" name a movie rather than a genre or a year.
+     */
+    private List<Movie> moviesFor(String query, ParsedQuery parsed) {
+        if (!parsed.isStructured()) {
+            return movieService.searchMovies(query);
+        }
+        Map<String, Movie> movies = new LinkedHashMap<>();
+        for (Movie movie : movieService.findByTitle(query, queryMaxResults)) {
+            movies.put(movie.getId(), movie);
+        }
+        for (Movie movie : movieService.findMovies(parsed, queryMaxResults)) {
+            if (movies.size() >= queryMaxResults) {
+                break;
+            }
+            movies.putIfAbsent(movie.getId(), movie);
+        }
+        return new ArrayList<>(movies.values());
+    }
 
-        return score;
+    /**
+     * Candidates to score exactly: HNSW neighbours of the user's taste vector plus collaborative
+     * filtering neighbours, or the whole catalog while it is small or the index is not built yet.
+     */
+    private List<Movie> candidateMovies(Set<String> likedIds, Set<String> cfCandidateIds) {
+        MovieCatalog.Snapshot catalog = movieCatalog.current();
+        if (catalog.size() <= annCandidates || !embeddingIndex.isReady(catalog)) {
+            return catalog.movies();
+        }
+        Map<String, Movie> candidates = new LinkedHashMap<>();
+        for (Movie movie : embeddingIndex.candidatesFor(likedIds, annCandidates)) {
+            candidates.put(movie.getId(), movie);
+        }
+        for (String id : cfCandidateIds) {
+            Movie movie = catalog.get(id);
+            if (movie != null) {
+                candidates.putIfAbsent(id, movie);
+            }
+        }
+        return new ArrayList<>(candidates.values());
     }
 
     // ============ USAGE EXAMPLE METHODS FOR JSONB PREFERENCES ============
@@ -0,0 +1,47 @@
+package com.yourorg.imdbloader.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user version numbers used to build suggestion ETags.
+ *
+ * <p>Versions are drawn from one node-wide monotonic counter, so a user whose entry was evicted
+ * and re-created can never reuse a version a client may still hold.</p>
+ */
+@Component
+public class UserVersionTracker {
+
+    private final AtomicLong counter = new AtomicLong();
+    private final LinkedHashMap<String, Long> versions;
+
+    public UserVersionTracker(@Value("${http.cache.max-tracked-users:1000000}") int maxUsers) {
+        this.versions = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    public synchronized long current(String userId) {
+        return versions.computeIfAbsent(userId, id -> counter.incrementAndGet());
+    }
+
+    public synchronized long bump(String userId) {
+        long next = counter.incrementAndGet();
+        versions.put(userId, next);
+        return next;
+    }
+
+    /**
+     * Gives every user a new version on their next request, for when changes may have been missed.
+     */
+    public synchronized void bumpAll() {
+        versions.clear();
+    }
+}
@@ -0,0 +1,82 @@
+package com.yourorg.imdbloader.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link HnswIndex} snapshot round trip and rejection of damaged snapshots.
+ */
+class HnswIndexTest {
+
+    private static final int DIMENSION = 8;
+    private static final long FINGERPRINT = 42;
+
+    @Test
+    void snapshotRoundTripAnswersLikeTheOriginal() throws IOException {
+        HnswIndex index = build(500);
+        HnswIndex copy = read(write(index), FINGERPRINT);
+
+        assertThat(copy.size()).isEqualTo(index.size());
+        float[] query = index.vector(7);
+        assertThat(copy.search(query, 10, 50).ids()).containsExactly(index.search(query, 10, 50).ids());
+    }
+
+    @Test
+    void snapshotOfAnotherCatalogIsStale() throws IOException {
+        assertThat(read(write(build(50)), FINGERPRINT + 1)).isNull();
+    }
+
+    @Test
+    void damagedSnapshotsFailWithIoException() throws IOException {
+        byte[] bytes = write(build(200));
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+        assertThatThrownBy(() -> read(truncated, FINGERPRINT)).isInstanceOf(IOException.class);
+
+        for (int offset : new int[] {40, bytes.length / 2, bytes.length - 12}) {
+            byte[] corrupt = bytes.clone();
+            corrupt[offset] ^= 0x5A;
+            assertThatThrownBy(() -> read(corrupt, FINGERPRINT)).isInstanceOf(IOException.class);
+        }
+    }
+
+    private static HnswIndex build(int size) {
+        SplittableRandom random = new SplittableRandom(1);
+        HnswIndex index = new HnswIndex(DIMENSION, size, 8, 64);
+        for (int i = 0; i < size; i++) {
+            float[] v = new float[DIMENSION];
+            float norm = 0;
+            for (int d = 0; d < DIMENSION; d++) {
+                v[d] = (float) random.nextGaussian();
+                norm += v[d] * v[d];
+            }
+            for (int d = 0; d < DIMENSION; d++) {
+                v[d] /= (float) Math.sqrt(norm);
+            }
+            index.add(v);
+        }
+        return index;
+    }
+
+    private static byte[] write(HnswIndex index) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.writeTo(out, FINGERPRINT);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static HnswIndex read(byte[] bytes, long fingerprint) throws IOException {
+        return HnswIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)), fingerprint);
+    }
+}
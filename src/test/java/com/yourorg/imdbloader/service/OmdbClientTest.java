@@ -0,0 +1,149 @@
+package com.yourorg.imdbloader.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.yourorg.imdbloader.repository.OmdbPlotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link OmdbClient} against a local OMDb stub that answers slowly and counts requests.
+ */
+class OmdbClientTest {
+
+    private static final int MAX_CONCURRENCY = 4;
+    private static final long RESPONSE_DELAY_MS = 200;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private HttpServer server;
+    private OmdbClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(RESPONSE_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            String id = exchange.getRequestURI().getQuery().replaceAll(".*[?&]i=([^&]*).*", "$1");
+            byte[] body = ("{\"Title\":\"Stub\",\"Plot\":\"Plot of " + id + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PlotCache plotCache = new PlotCache(new MemoryOnlyRepository(), registry, 1000, 3600, 600, 3600, 600);
+        client = new OmdbClient("http://127.0.0.1:" + server.getAddress().getPort() + "/", "test-key",
+                1000, 5000, MAX_CONCURRENCY, 100, false, 5, 2500, 30000,
+                new ObjectMapper(), plotCache, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void concurrentLookupsOfOneTitleShareOneUpstreamCall() throws Exception {
+        int callers = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        var pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<CompletableFuture<CompletableFuture<String>>> submitted = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                submitted.add(CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(start);
+                    return client.fetchPlotAsync("tt0111161");
+                }, pool));
+            }
+            start.countDown();
+            for (CompletableFuture<CompletableFuture<String>> future : submitted) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            for (CompletableFuture<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Plot of tt0111161");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(hits.get()).isEqualTo(1);
+
+        // Served from the cache afterwards
+        assertThat(client.fetchPlotById("tt0111161")).isEqualTo("Plot of tt0111161");
+        assertThat(hits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void plotsForManyTitlesAreFetchedConcurrentlyWithinTheLimit() {
+        List<String> ids = List.of("tt01", "tt02", "tt03", "tt04", "tt05", "tt06", "tt07", "tt08");
+
+        long start = System.nanoTime();
+        Map<String, String> plots = client.fetchPlots(ids).join();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(plots.keySet()).containsExactlyElementsOf(ids);
+        assertThat(plots.get("tt05")).isEqualTo("Plot of tt05");
+        assertThat(hits.get()).isEqualTo(ids.size());
+        assertThat(maxRunning.get()).isGreaterThan(1).isLessThanOrEqualTo(MAX_CONCURRENCY);
+        // Two waves of four, not eight sequential calls
+        assertThat(elapsedMs).isLessThan(ids.size() * RESPONSE_DELAY_MS);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Persistent tier with nothing stored, so every miss goes upstream.
+     */
+    private static final class MemoryOnlyRepository extends OmdbPlotRepository {
+
+        MemoryOnlyRepository() {
+            super(null);
+        }
+
+        @Override
+        public Optional<StoredPlot> find(String imdbId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void upsert(String imdbId, String plot, Instant fetchedAt) {
+        }
+    }
+}
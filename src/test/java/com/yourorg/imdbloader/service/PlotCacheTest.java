@@ -0,0 +1,59 @@
+package com.yourorg.imdbloader.service;
+
+import com.yourorg.imdbloader.repository.OmdbPlotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link PlotCache} promotion from the persistent tier into memory.
+ */
+class PlotCacheTest {
+
+    @Test
+    void promotedEntryExpiresWithItsDatabaseRow() throws Exception {
+        // Row fetched 1.5 s ago with a 2 s DB TTL, memory TTL of an hour
+        Instant fetchedAt = Instant.now().minusMillis(1500);
+        OmdbPlotRepository repository = new OmdbPlotRepository(null) {
+            @Override
+            public Optional<StoredPlot> find(String imdbId) {
+                return Optional.of(new StoredPlot("Stored plot", fetchedAt));
+            }
+        };
+        PlotCache cache = new PlotCache(repository, new SimpleMeterRegistry(), 100, 3600, 600, 2, 2);
+
+        assertThat(cache.getFromDatabase("tt0111161")).map(PlotCache.CachedPlot::plot).contains("Stored plot");
+        assertThat(cache.getFromMemory("tt0111161")).isPresent();
+
+        Thread.sleep(fetchedAt.plusSeconds(2).toEpochMilli() - System.currentTimeMillis() + 100);
+        assertThat(cache.getFromMemory("tt0111161")).isEmpty();
+    }
+
+    @Test
+    void tableFailureAtStartupDoesNotLatchMemoryOnly() {
+        AtomicInteger attempts = new AtomicInteger();
+        OmdbPlotRepository repository = new OmdbPlotRepository(null) {
+            @Override
+            public void createTableIfMissing() {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("database is starting up");
+                }
+            }
+        };
+        PlotCache cache = new PlotCache(repository, new SimpleMeterRegistry(), 100, 3600, 600, 2, 2);
+
+        cache.ensureTable();
+        assertThat(cache.isPersistent()).isFalse();
+        // Not due yet: the first retry waits for the backoff
+        cache.retryUnavailableTable();
+        assertThat(attempts.get()).isEqualTo(1);
+
+        cache.ensureTable();
+        assertThat(cache.isPersistent()).isTrue();
+    }
+}